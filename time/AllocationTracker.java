@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2021 nacamar GmbH - Ybrid®, a Hybrid Dynamic Live Audio Technology
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package java.time;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class allows counting the creation of {@link Instant} and {@link Duration} objects.
+ * <P>
+ * Tracking is disabled by default. While disabled the cost is a single volatile read per created object.
+ * While enabled each object is counted by its type and by the method that created it, such as
+ * {@link Duration#ofMillis(long)} or {@link Instant#plusNanos(long)}. Objects created by other factory methods
+ * of this package are counted under the method that finally created them. Optionally the stack trace of every
+ * n-th created object is captured to find the responsible call sites.
+ */
+public final class AllocationTracker {
+    /**
+     * The maximum number of stack samples kept. Older samples are dropped.
+     */
+    public static final int MAX_STACK_SAMPLES = 128;
+
+    static volatile boolean enabled = false;
+
+    private static final @NotNull ConcurrentMap<Class<?>, ConcurrentMap<String, AtomicLong>> counters = new ConcurrentHashMap<>();
+    private static final @NotNull AtomicLong sampleCounter = new AtomicLong();
+    private static final @NotNull ArrayDeque<StackTraceElement[]> stackSamples = new ArrayDeque<>(MAX_STACK_SAMPLES);
+    private static volatile int stackSampleInterval = 0;
+
+    private AllocationTracker() {
+    }
+
+    /**
+     * Enables tracking.
+     */
+    public static void enable() {
+        enabled = true;
+    }
+
+    /**
+     * Disables tracking. The counters are kept.
+     */
+    public static void disable() {
+        enabled = false;
+    }
+
+    /**
+     * Returns whether tracking is enabled.
+     * @return Whether tracking is enabled.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets how often the stack trace of a created object is captured.
+     * @param interval The stack trace of every {@code interval}-th object is captured. {@code 0} disables capturing.
+     */
+    public static void setStackSampleInterval(int interval) {
+        if (interval < 0)
+            throw new IllegalArgumentException("Negative interval");
+        stackSampleInterval = interval;
+    }
+
+    /**
+     * Clears all counters and stack samples.
+     */
+    public static void reset() {
+        counters.clear();
+        synchronized (stackSamples) {
+            stackSamples.clear();
+        }
+    }
+
+    static void record(@NotNull Class<?> type, @NotNull String factory) {
+        final int interval = stackSampleInterval;
+        ConcurrentMap<String, AtomicLong> factories = counters.get(type);
+        AtomicLong counter;
+
+        if (factories == null) {
+            final @NotNull ConcurrentMap<String, AtomicLong> created = new ConcurrentHashMap<>();
+            factories = counters.putIfAbsent(type, created);
+            if (factories == null)
+                factories = created;
+        }
+
+        counter = factories.get(factory);
+        if (counter == null) {
+            final @NotNull AtomicLong created = new AtomicLong();
+            counter = factories.putIfAbsent(factory, created);
+            if (counter == null)
+                counter = created;
+        }
+
+        counter.incrementAndGet();
+
+        if (interval > 0 && sampleCounter.incrementAndGet() % interval == 0) {
+            final @NotNull StackTraceElement @NotNull [] stackTrace = new Throwable().getStackTrace();
+
+            synchronized (stackSamples) {
+                if (stackSamples.size() == MAX_STACK_SAMPLES)
+                    stackSamples.removeFirst();
+                stackSamples.addLast(stackTrace);
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of the current counters and stack samples.
+     * @return The new snapshot.
+     */
+    @Contract(value = " -> new", pure = true)
+    public static @NotNull Snapshot snapshot() {
+        return new Snapshot();
+    }
+
+    /**
+     * This class holds the state of the {@link AllocationTracker} at a point in time.
+     */
+    public static final class Snapshot {
+        private final @NotNull Map<Class<?>, Map<String, Long>> counts = new HashMap<>();
+        private final @NotNull List<StackTraceElement[]> samples;
+
+        private Snapshot() {
+            for (final @NotNull Map.Entry<Class<?>, ConcurrentMap<String, AtomicLong>> type : counters.entrySet()) {
+                final @NotNull Map<String, Long> factories = new HashMap<>();
+
+                for (final @NotNull Map.Entry<String, AtomicLong> factory : type.getValue().entrySet())
+                    factories.put(factory.getKey(), factory.getValue().get());
+
+                counts.put(type.getKey(), Collections.unmodifiableMap(factories));
+            }
+
+            synchronized (stackSamples) {
+                samples = Collections.unmodifiableList(new ArrayList<>(stackSamples));
+            }
+        }
+
+        /**
+         * Returns the number of created objects of the given type.
+         * @param type The type, such as {@link Instant}.
+         * @return The number of created objects.
+         */
+        @Contract(pure = true)
+        public long getCount(@NotNull Class<?> type) {
+            long sum = 0;
+
+            for (final long count : getCounts(type).values())
+                sum += count;
+
+            return sum;
+        }
+
+        /**
+         * Returns the number of objects of the given type created by the given method.
+         * @param type The type, such as {@link Instant}.
+         * @param factory The name of the method, such as {@code "plusNanos"}.
+         * @return The number of created objects.
+         */
+        @Contract(pure = true)
+        public long getCount(@NotNull Class<?> type, @NotNull String factory) {
+            final Long count = getCounts(type).get(factory);
+            return count == null ? 0 : count;
+        }
+
+        /**
+         * Returns the number of objects of the given type per method that created them.
+         * @param type The type, such as {@link Instant}.
+         * @return The numbers of created objects by method name.
+         */
+        @Contract(pure = true)
+        public @NotNull @Unmodifiable Map<String, Long> getCounts(@NotNull Class<?> type) {
+            final Map<String, Long> factories = counts.get(type);
+            return factories == null ? Collections.<String, Long>emptyMap() : factories;
+        }
+
+        /**
+         * Returns the captured stack traces, oldest first.
+         * @return The stack traces.
+         * @see #setStackSampleInterval(int)
+         */
+        @Contract(pure = true)
+        public @NotNull @Unmodifiable List<StackTraceElement[]> getStackSamples() {
+            return samples;
+        }
+    }
+}
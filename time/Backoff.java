@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2021 nacamar GmbH - Ybrid®, a Hybrid Dynamic Live Audio Technology
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package java.time;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * This class implements backoff policies for retrying operations such as reconnects.
+ * <P>
+ * All policies grow the delay with each attempt and never exceed the given cap. Jittered policies randomise the
+ * delay so that many clients failing at the same time spread their retries. Delays are calculated in [ns] without
+ * allocation. Overflows saturate at the cap.
+ * <P>
+ * Instances are immutable and can be shared between threads and independent retry sequences. Policies created by
+ * {@link #decorrelatedJitter(Duration, Duration)} depend on the previous delay, which the caller keeps and passes
+ * to {@link #nextDelayNanos(int, long)}. A {@link Random} given to {@link #withRandom(Random)} is shared by all
+ * users of the policy.
+ */
+public final class Backoff {
+    private static final int DECORRELATION_FACTOR = 3;
+
+    private enum Strategy {
+        EXPONENTIAL,
+        FULL_JITTER,
+        DECORRELATED_JITTER
+    }
+
+    private final @NotNull Strategy strategy;
+    private final long baseNanos;
+    private final long capNanos;
+    private final @Nullable Random random;
+
+    private Backoff(@NotNull Strategy strategy, long baseNanos, long capNanos, @Nullable Random random) {
+        if (baseNanos <= 0)
+            throw new IllegalArgumentException("Base must be positive");
+        if (capNanos < baseNanos)
+            throw new IllegalArgumentException("Cap must not be less than base");
+
+        this.strategy = strategy;
+        this.baseNanos = baseNanos;
+        this.capNanos = capNanos;
+        this.random = random;
+    }
+
+    private Backoff(@NotNull Strategy strategy, @NotNull Duration base, @NotNull Duration cap) {
+        this(strategy, PrivateUtils.saturatedToNanos(base.getSeconds(), base.getNano()),
+                PrivateUtils.saturatedToNanos(cap.getSeconds(), cap.getNano()), null);
+    }
+
+    /**
+     * Creates a policy doubling the delay with each attempt, starting at the base.
+     * @param base The delay of the first attempt.
+     * @param cap The maximum delay.
+     * @return The new policy.
+     */
+    @Contract(value = "_, _ -> new", pure = true)
+    public static @NotNull Backoff exponential(@NotNull Duration base, @NotNull Duration cap) {
+        return new Backoff(Strategy.EXPONENTIAL, base, cap);
+    }
+
+    /**
+     * Creates a policy choosing a random delay between zero and the delay of {@link #exponential(Duration, Duration)}.
+     * @param base The maximum delay of the first attempt.
+     * @param cap The maximum delay.
+     * @return The new policy.
+     */
+    @Contract(value = "_, _ -> new", pure = true)
+    public static @NotNull Backoff exponentialWithJitter(@NotNull Duration base, @NotNull Duration cap) {
+        return new Backoff(Strategy.FULL_JITTER, base, cap);
+    }
+
+    /**
+     * Creates a policy choosing a random delay between the base and three times the previous delay.
+     * <P>
+     * Delays must be requested using {@link #nextDelayNanos(int, long)} or {@link #nextDelay(int, Duration)},
+     * passing the delay returned for the previous attempt.
+     *
+     * @param base The minimum delay.
+     * @param cap The maximum delay.
+     * @return The new policy.
+     */
+    @Contract(value = "_, _ -> new", pure = true)
+    public static @NotNull Backoff decorrelatedJitter(@NotNull Duration base, @NotNull Duration cap) {
+        return new Backoff(Strategy.DECORRELATED_JITTER, base, cap);
+    }
+
+    /**
+     * Returns a copy of this policy using the given source of randomness.
+     * <P>
+     * By default {@link ThreadLocalRandom} is used. A seeded source can be used to get reproducible delays.
+     *
+     * @param random The source of randomness to use.
+     * @return The new policy.
+     */
+    @Contract(value = "_ -> new", pure = true)
+    public @NotNull Backoff withRandom(@NotNull Random random) {
+        return new Backoff(strategy, baseNanos, capNanos, random);
+    }
+
+    /**
+     * Returns the delay before the given attempt.
+     * @param attempt The number of the attempt, starting at {@code 0}.
+     * @return The delay in [ns].
+     * @throws IllegalStateException If this policy needs the previous delay.
+     * @see #nextDelayNanos(int, long)
+     */
+    public long nextDelayNanos(int attempt) {
+        if (strategy == Strategy.DECORRELATED_JITTER)
+            throw new IllegalStateException("Decorrelated jitter needs the previous delay");
+
+        return nextDelayNanos(attempt, baseNanos);
+    }
+
+    /**
+     * Returns the delay before the given attempt.
+     * @param attempt The number of the attempt, starting at {@code 0}.
+     * @param previousDelayNanos The delay returned for the previous attempt in [ns]. Ignored for attempt {@code 0}
+     *                           and by policies not depending on it.
+     * @return The delay in [ns].
+     */
+    public long nextDelayNanos(int attempt, long previousDelayNanos) {
+        if (attempt < 0)
+            throw new IllegalArgumentException("Negative attempt");
+
+        switch (strategy) {
+            case EXPONENTIAL:
+                return exponentialNanos(attempt);
+            case FULL_JITTER:
+                return randomUpTo(exponentialNanos(attempt));
+            case DECORRELATED_JITTER:
+                final long previous = attempt == 0 ? baseNanos : Math.max(baseNanos, previousDelayNanos);
+
+                return baseNanos + randomUpTo(Math.min(capNanos, PrivateUtils.saturatedMul(previous, DECORRELATION_FACTOR)) - baseNanos);
+        }
+
+        throw new IllegalStateException();
+    }
+
+    /**
+     * Returns the delay before the given attempt.
+     * @param attempt The number of the attempt, starting at {@code 0}.
+     * @return The delay.
+     * @throws IllegalStateException If this policy needs the previous delay.
+     * @see #nextDelayNanos(int)
+     */
+    @Contract(value = "_ -> new")
+    public @NotNull Duration nextDelay(int attempt) {
+        return Duration.ofNanos(nextDelayNanos(attempt));
+    }
+
+    /**
+     * Returns the delay before the given attempt.
+     * @param attempt The number of the attempt, starting at {@code 0}.
+     * @param previousDelay The delay returned for the previous attempt.
+     * @return The delay.
+     * @see #nextDelayNanos(int, long)
+     */
+    @Contract(value = "_, _ -> new")
+    public @NotNull Duration nextDelay(int attempt, @NotNull Duration previousDelay) {
+        return Duration.ofNanos(nextDelayNanos(attempt, PrivateUtils.saturatedToNanos(previousDelay.getSeconds(), previousDelay.getNano())));
+    }
+
+    private long exponentialNanos(int attempt) {
+        if (attempt >= Long.SIZE - 1)
+            return capNanos;
+        return Math.min(capNanos, PrivateUtils.saturatedMul(baseNanos, 1L << attempt));
+    }
+
+    /**
+     * Returns a random value between zero and the given bound, both inclusive.
+     */
+    private long randomUpTo(long bound) {
+        final long value = (random == null ? ThreadLocalRandom.current() : random).nextLong() >>> 1;
+
+        if (bound == Long.MAX_VALUE)
+            return value;
+
+        return value % (bound + 1);
+    }
+}
@@ -89,4 +89,38 @@ public abstract class Clock {
             }
         };
     }
+
+    /**
+     * Gets a clock that returns the time of another clock with a fixed offset added.
+     *
+     * @param baseClock The clock to add the offset to.
+     * @param offsetDuration The offset to add.
+     * @return the new clock.
+     */
+    public static @NotNull Clock offset(@NotNull Clock baseClock, @NotNull Duration offsetDuration) {
+        if (offsetDuration.isZero())
+            return baseClock;
+
+        return new Clock() {
+            @Override
+            public @NotNull ZoneId getZone() {
+                return baseClock.getZone();
+            }
+
+            @Override
+            public @NotNull Clock withZone(@NotNull ZoneId zone) {
+                return Clock.offset(baseClock.withZone(zone), offsetDuration);
+            }
+
+            @Override
+            public @NotNull Instant instant() {
+                return baseClock.instant().add(offsetDuration.seconds, offsetDuration.nanoseconds, "plus");
+            }
+
+            @Override
+            public long millis() {
+                return PrivateUtils.add(baseClock.millis(), offsetDuration.toMillis());
+            }
+        };
+    }
 }
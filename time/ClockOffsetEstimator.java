@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2021 nacamar GmbH - Ybrid®, a Hybrid Dynamic Live Audio Technology
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package java.time;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This class estimates the offset of a server clock against a local clock from request timestamps.
+ * <P>
+ * Each sample consists of the local time a request was sent, the time the server put into its response, and the
+ * local time the response was received. As in NTP the server time is assumed to be taken in the middle of the
+ * round trip, so a sample limits the true offset to its measured offset plus or minus half the round-trip delay.
+ * <P>
+ * The estimate is taken from the sample with the smallest round-trip delay within the last samples, as it has
+ * the smallest error. New samples whose possible range does not overlap the one of the current estimate are
+ * rejected as outliers. If too many samples are rejected in a row the server or local clock is assumed to have
+ * been stepped and the estimator starts over.
+ * <P>
+ * Samples are passed in explicitly, so the estimator does not depend on any specific transport. Adding samples
+ * is synchronized, reading the estimate or using {@link #correctedClock(Clock)} is lock-free. The offset and the
+ * round-trip delay are published together, use {@link #getEstimate()} to read both from the same sample.
+ */
+public final class ClockOffsetEstimator {
+    private static final int DEFAULT_WINDOW_SIZE = 8;
+
+    private final long[] offsets;
+    private final long[] roundTrips;
+    private int next = 0;
+    private int count = 0;
+    private int rejectedInRow = 0;
+    private long rejected = 0;
+    private volatile @NotNull Estimate estimate = Estimate.NONE;
+
+    /**
+     * This class holds the offset and round-trip delay of the sample an estimate is based on.
+     */
+    public static final class Estimate {
+        private static final Estimate NONE = new Estimate(0, 0);
+
+        private final long offsetNanos;
+        private final long roundTripNanos;
+
+        private Estimate(long offsetNanos, long roundTripNanos) {
+            this.offsetNanos = offsetNanos;
+            this.roundTripNanos = roundTripNanos;
+        }
+
+        /**
+         * Returns the estimated offset.
+         * @return The server time minus the local time in [ns].
+         */
+        @Contract(pure = true)
+        public long getOffsetNanos() {
+            return offsetNanos;
+        }
+
+        /**
+         * Returns the round-trip delay of the sample. The true offset is within plus or minus half of it.
+         * @return The round-trip delay in [ns].
+         */
+        @Contract(pure = true)
+        public long getRoundTripNanos() {
+            return roundTripNanos;
+        }
+    }
+
+    /**
+     * Creates a new estimator that keeps the last eight samples.
+     */
+    public ClockOffsetEstimator() {
+        this(DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Creates a new estimator.
+     * @param windowSize The number of samples to keep.
+     */
+    public ClockOffsetEstimator(int windowSize) {
+        if (windowSize <= 0)
+            throw new IllegalArgumentException("Window size must be positive");
+
+        this.offsets = new long[windowSize];
+        this.roundTrips = new long[windowSize];
+    }
+
+    /**
+     * Adds a sample.
+     * @param clientSend The local time the request was sent.
+     * @param server The server time taken from the response.
+     * @param clientReceive The local time the response was received.
+     * @return Whether the sample was accepted.
+     * @throws IllegalArgumentException If the response was received before the request was sent.
+     */
+    public boolean addSample(@NotNull Instant clientSend, @NotNull Instant server, @NotNull Instant clientReceive) {
+        return addSample(clientSend.toEpochNano(), server.toEpochNano(), clientReceive.toEpochNano());
+    }
+
+    /**
+     * Adds a sample.
+     * @param clientSendNanos The local time the request was sent in [ns] since the epoch.
+     * @param serverNanos The server time taken from the response in [ns] since the epoch.
+     * @param clientReceiveNanos The local time the response was received in [ns] since the epoch.
+     * @return Whether the sample was accepted.
+     * @throws IllegalArgumentException If the response was received before the request was sent.
+     */
+    public synchronized boolean addSample(long clientSendNanos, long serverNanos, long clientReceiveNanos) {
+        final long roundTrip = PrivateUtils.subtract(clientReceiveNanos, clientSendNanos);
+        final @NotNull Estimate current = estimate;
+        final long offset;
+
+        if (roundTrip < 0)
+            throw new IllegalArgumentException("Response received before request was sent");
+
+        offset = PrivateUtils.subtract(serverNanos, clientSendNanos + roundTrip / 2);
+
+        if (current != Estimate.NONE && Math.abs(offset - current.offsetNanos) > (roundTrip + current.roundTripNanos) / 2) {
+            if (++rejectedInRow <= offsets.length) {
+                rejected++;
+                return false;
+            }
+            count = 0;
+            next = 0;
+        }
+
+        rejectedInRow = 0;
+        offsets[next] = offset;
+        roundTrips[next] = roundTrip;
+        next = (next + 1) % offsets.length;
+        if (count < offsets.length)
+            count++;
+
+        update();
+        return true;
+    }
+
+    private void update() {
+        int best = -1;
+
+        for (int i = 0; i < count; i++) {
+            if (best < 0 || roundTrips[i] < roundTrips[best])
+                best = i;
+        }
+
+        estimate = new Estimate(offsets[best], roundTrips[best]);
+    }
+
+    /**
+     * Removes all samples.
+     */
+    public synchronized void reset() {
+        count = 0;
+        next = 0;
+        rejectedInRow = 0;
+        estimate = Estimate.NONE;
+    }
+
+    /**
+     * Returns whether an estimate is available.
+     * @return Whether at least one sample was accepted.
+     */
+    @Contract(pure = true)
+    public boolean hasEstimate() {
+        return estimate != Estimate.NONE;
+    }
+
+    /**
+     * Returns the current estimate, which has a zero offset and round-trip delay if no estimate is available.
+     * @return The estimate.
+     */
+    @Contract(pure = true)
+    public @NotNull Estimate getEstimate() {
+        return estimate;
+    }
+
+    /**
+     * Returns the estimated offset, which is zero if no estimate is available.
+     * @return The server time minus the local time in [ns].
+     */
+    @Contract(pure = true)
+    public long getOffsetNanos() {
+        return estimate.offsetNanos;
+    }
+
+    /**
+     * Returns the estimated offset, which is zero if no estimate is available.
+     * @return The server time minus the local time.
+     */
+    @Contract(pure = true)
+    public @NotNull Duration getOffset() {
+        return Duration.ofNanos(estimate.offsetNanos);
+    }
+
+    /**
+     * Returns the round-trip delay of the sample the estimate is based on.
+     * The true offset is within plus or minus half of it.
+     * @return The round-trip delay in [ns].
+     */
+    @Contract(pure = true)
+    public long getRoundTripNanos() {
+        return estimate.roundTripNanos;
+    }
+
+    /**
+     * Returns the number of samples that were rejected as outliers and discarded.
+     * @return The number of rejected samples.
+     */
+    @Contract(pure = true)
+    public synchronized long getRejectedCount() {
+        return rejected;
+    }
+
+    /**
+     * Returns a clock that follows the server time.
+     * <P>
+     * The returned clock adds the current estimate to the given local clock on every read, so it follows later
+     * samples. Use {@link Clock#offset(Clock, Duration)} with {@link #getOffset()} for a fixed offset instead.
+     *
+     * @param localClock The local clock the samples were taken with.
+     * @return The corrected clock.
+     */
+    public @NotNull Clock correctedClock(@NotNull Clock localClock) {
+        return new Clock() {
+            @Override
+            public @NotNull ZoneId getZone() {
+                return localClock.getZone();
+            }
+
+            @Override
+            public @NotNull Clock withZone(@NotNull ZoneId zone) {
+                return correctedClock(localClock.withZone(zone));
+            }
+
+            @Override
+            public @NotNull Instant instant() {
+                return localClock.instant().plusNanos(estimate.offsetNanos);
+            }
+
+            @Override
+            public long millis() {
+                return PrivateUtils.add(localClock.millis(), PrivateUtils.floorDiv(estimate.offsetNanos, PrivateUtils.MS_PER_NS));
+            }
+        };
+    }
+}
@@ -37,6 +37,9 @@ public final class Duration extends PrivateUtils.SecondsNanosecondsBaseClass<Dur
      */
     public static final Duration ZERO = new Duration(0, 0);
 
+    private static final Duration MIN_VALUE = new Duration(Long.MIN_VALUE, 0);
+    private static final Duration MAX_VALUE = new Duration(Long.MAX_VALUE, PrivateUtils.NS_PER_S - 1);
+
     private static final @NotNull @Unmodifiable List<@NotNull TemporalUnit> units;
 
     static {
@@ -64,6 +67,7 @@ public final class Duration extends PrivateUtils.SecondsNanosecondsBaseClass<Dur
      */
     @Contract(value = "_, _ -> new", pure = true)
     public static @NotNull Duration ofSeconds(long seconds, long nanoAdjustment) {
+        PrivateUtils.track(Duration.class, "ofSeconds");
         return new Duration(seconds, nanoAdjustment);
     }
 
@@ -74,6 +78,7 @@ public final class Duration extends PrivateUtils.SecondsNanosecondsBaseClass<Dur
      */
     @Contract(value = "_ -> new", pure = true)
     public static @NotNull Duration ofSeconds(long seconds) {
+        PrivateUtils.track(Duration.class, "ofSeconds");
         return new Duration(seconds, 0);
     }
 
@@ -86,6 +91,7 @@ public final class Duration extends PrivateUtils.SecondsNanosecondsBaseClass<Dur
     public static @NotNull Duration ofMillis(long millis) {
         final long seconds = millis / PrivateUtils.MS_PER_S;
         final long nanoseconds = (millis - seconds * PrivateUtils.MS_PER_S) * PrivateUtils.MS_PER_NS;
+        PrivateUtils.track(Duration.class, "ofMillis");
         return new Duration(seconds, nanoseconds);
     }
 
@@ -96,9 +102,29 @@ public final class Duration extends PrivateUtils.SecondsNanosecondsBaseClass<Dur
      */
     @Contract(value = "_ -> new", pure = true)
     public static @NotNull Duration ofNanos(long nanos) {
+        PrivateUtils.track(Duration.class, "ofNanos");
         return new Duration(0, nanos);
     }
 
+    /**
+     * Creates a duration of the given number of audio samples.
+     * <P>
+     * The result is rounded to the nearest nanosecond, halves towards positive infinity. As whole seconds are split
+     * off first the error never exceeds half a nanosecond, no matter how many samples are given. For sample rates
+     * below 1 GHz {@link #toSamples(int)} returns the given number of samples again.
+     *
+     * @param samples The number of samples, or the position in samples.
+     * @param sampleRate The sample rate in [Hz].
+     * @return The new duration.
+     * @throws IllegalArgumentException If the sample rate is not positive.
+     */
+    @Contract(value = "_, _ -> new", pure = true)
+    public static @NotNull Duration ofSamples(long samples, int sampleRate) {
+        PrivateUtils.checkSampleRate(sampleRate);
+        PrivateUtils.track(Duration.class, "ofSamples");
+        return new Duration(PrivateUtils.floorDiv(samples, sampleRate), PrivateUtils.samplesToNanos(PrivateUtils.floorMod(samples, sampleRate), sampleRate));
+    }
+
     /**
      * Creates a duration of the given time.
      * @param days The time in [86400s].
@@ -106,7 +132,8 @@ public final class Duration extends PrivateUtils.SecondsNanosecondsBaseClass<Dur
      */
     @Contract(value = "_ -> new", pure = true)
     public static @NotNull Duration ofDays(long days) {
-        return ofSeconds(PrivateUtils.mul(days, PrivateUtils.S_PER_DAY));
+        PrivateUtils.track(Duration.class, "ofDays");
+        return new Duration(PrivateUtils.mul(days, PrivateUtils.S_PER_DAY), 0);
     }
 
     /**
@@ -116,7 +143,8 @@ public final class Duration extends PrivateUtils.SecondsNanosecondsBaseClass<Dur
      */
     @Contract(value = "_ -> new", pure = true)
     public static @NotNull Duration ofHours(long hours) {
-        return ofSeconds(PrivateUtils.mul(hours, PrivateUtils.S_PER_HOUR));
+        PrivateUtils.track(Duration.class, "ofHours");
+        return new Duration(PrivateUtils.mul(hours, PrivateUtils.S_PER_HOUR), 0);
     }
 
     /**
@@ -126,7 +154,8 @@ public final class Duration extends PrivateUtils.SecondsNanosecondsBaseClass<Dur
      */
     @Contract(value = "_ -> new", pure = true)
     public static @NotNull Duration ofMinutes(long minutes) {
-        return ofSeconds(minutes * PrivateUtils.S_PER_MINUTE);
+        PrivateUtils.track(Duration.class, "ofMinutes");
+        return new Duration(minutes * PrivateUtils.S_PER_MINUTE, 0);
     }
 
     @Override
@@ -214,7 +243,7 @@ public final class Duration extends PrivateUtils.SecondsNanosecondsBaseClass<Dur
      */
     @Contract(pure = true)
     public @NotNull Duration negated() {
-        return new Duration(-seconds, -nanoseconds);
+        return newInstance(-seconds, -nanoseconds, "negated");
     }
 
     /**
@@ -224,7 +253,7 @@ public final class Duration extends PrivateUtils.SecondsNanosecondsBaseClass<Dur
      */
     @Contract(value = "_ -> new", pure = true)
     public @NotNull Duration plus(@NotNull Duration duration) {
-        return add(duration.getSeconds(), duration.getNano());
+        return add(duration.getSeconds(), duration.getNano(), "plus");
     }
 
     /**
@@ -234,52 +263,185 @@ public final class Duration extends PrivateUtils.SecondsNanosecondsBaseClass<Dur
      */
     @Contract(value = "_ -> new", pure = true)
     public @NotNull Duration minus(@NotNull Duration duration) {
-        return add(PrivateUtils.negate(duration.getSeconds()), PrivateUtils.negate(duration.getNano()));
+        return add(PrivateUtils.negate(duration.getSeconds()), PrivateUtils.negate(duration.getNano()), "minus");
+    }
+
+    /**
+     * Adds a duration, clamping the result to the longest positive or negative duration instead of throwing
+     * an {@link ArithmeticException}.
+     * @param duration The duration to add.
+     * @return The sum.
+     */
+    @Contract(pure = true)
+    public @NotNull Duration saturatedPlus(@NotNull Duration duration) {
+        return saturatedAdd(duration.seconds, duration.nanoseconds, MIN_VALUE, MAX_VALUE, "saturatedPlus");
+    }
+
+    /**
+     * Subtracts a duration, clamping the result to the longest positive or negative duration instead of throwing
+     * an {@link ArithmeticException}.
+     * @param duration The duration to subtract.
+     * @return The result.
+     */
+    @Contract(pure = true)
+    public @NotNull Duration saturatedMinus(@NotNull Duration duration) {
+        return saturatedSubtract(duration.seconds, duration.nanoseconds, MIN_VALUE, MAX_VALUE, "saturatedMinus");
     }
 
     /**
      * Multiplies this duration.
      * @param multiplicand The factor to multiply with.
      * @return The result.
+     * @throws ArithmeticException If the result does not fit a duration.
      */
     @Contract(value = "_ -> new", pure = true)
     public @NotNull Duration multipliedBy(long multiplicand) {
-        return new Duration(multiplicand * seconds, multiplicand * nanoseconds);
+        final long absMultiplicand = Math.abs(multiplicand);
+        final long nanosHigh;
+        final long nanosLow;
+        final long carrySeconds;
+        final long restNanoseconds;
+        long high;
+        long low;
+
+        //noinspection MagicNumber
+        if (((Math.abs(seconds) | absMultiplicand) >>> 31) == 0)
+            return newInstance(multiplicand * seconds, multiplicand * nanoseconds, "multipliedBy");
+
+        // |nanoseconds * multiplicand| = carrySeconds * NS_PER_S + restNanoseconds, the quotient fits 64 bits.
+        nanosHigh = PrivateUtils.unsignedMultiplyHigh(nanoseconds, absMultiplicand);
+        nanosLow = nanoseconds * absMultiplicand;
+        carrySeconds = PrivateUtils.unsignedDivide(nanosHigh, nanosLow, 0, PrivateUtils.NS_PER_S);
+        restNanoseconds = nanosLow - carrySeconds * PrivateUtils.NS_PER_S;
+
+        high = PrivateUtils.multiplyHigh(seconds, multiplicand);
+        low = seconds * multiplicand;
+
+        if (multiplicand >= 0) {
+            low += carrySeconds;
+            if (PrivateUtils.unsignedLess(low, carrySeconds))
+                high++;
+
+            if (high != (low >> 63))
+                throw PrivateUtils.longOverflow();
+
+            return newInstance(low, restNanoseconds, "multipliedBy");
+        }
+
+        // Borrow one second so the nanoseconds stay positive.
+        final long borrowSeconds = carrySeconds + (restNanoseconds != 0 ? 1 : 0);
+
+        if (PrivateUtils.unsignedLess(low, borrowSeconds))
+            high--;
+        low -= borrowSeconds;
+
+        if (high != (low >> 63))
+            throw PrivateUtils.longOverflow();
+
+        return newInstance(low, restNanoseconds != 0 ? PrivateUtils.NS_PER_S - restNanoseconds : 0, "multipliedBy");
     }
 
     /**
      * Divides this duration.
      * @param divisor The divisor.
-     * @return The result.
+     * @return The result, rounded towards zero to full nanoseconds.
      */
     @Contract(value = "_ -> new", pure = true)
     public @NotNull Duration dividedBy(long divisor) {
+        final boolean negative = (seconds < 0) != (divisor < 0);
+        final long absDivisor = Math.abs(divisor);
+        long high;
+        long low;
+        final long quotientHigh;
+        final long quotientLow;
         final long s;
-        final long sRest;
         final long ns;
-        final boolean neg = divisor < 0;
-        final @NotNull Duration ret;
 
-        if (divisor == 0 || divisor == Long.MIN_VALUE)
+        if (divisor == 0)
+            throw new ArithmeticException("Invalid divisor");
+
+        //noinspection MagicNumber
+        if ((Math.abs(seconds) >>> 33) == 0)
+            return newInstance(0, (seconds * PrivateUtils.NS_PER_S + nanoseconds) / divisor, "dividedBy");
+
+        // Divide the absolute 128-bit [ns] value, the high part is always below 2^31.
+        high = PrivateUtils.toNanosHigh(seconds, nanoseconds);
+        low = PrivateUtils.toNanosLow(seconds, nanoseconds);
+
+        if (high < 0) {
+            low = -low;
+            high = ~high + (low == 0 ? 1 : 0);
+        }
+
+        if (absDivisor < 0) {
+            // The divisor is 2^63.
+            quotientHigh = 0;
+            quotientLow = (high << 1) | (low >>> 63);
+        } else {
+            quotientHigh = high / absDivisor;
+            quotientLow = PrivateUtils.unsignedDivide(high % absDivisor, low, 0, absDivisor);
+        }
+
+        s = PrivateUtils.unsignedDivide(quotientHigh, quotientLow, 0, PrivateUtils.NS_PER_S);
+        ns = quotientLow - s * PrivateUtils.NS_PER_S;
+
+        if (negative)
+            return newInstance(-s, -ns, "dividedBy");
+
+        if (s < 0)
+            throw PrivateUtils.longOverflow();
+
+        return newInstance(s, ns, "dividedBy");
+    }
+
+    /**
+     * Returns how often a duration fits into this duration.
+     * @param divisor The duration to divide by.
+     * @return The number of whole times the divisor fits, rounded towards zero.
+     * @throws ArithmeticException If the divisor is zero or the result does not fit a {@code long}.
+     */
+    @Contract(pure = true)
+    public long dividedBy(@NotNull Duration divisor) {
+        final boolean negative = (seconds < 0) != (divisor.seconds < 0);
+        long high;
+        long low;
+        long divisorHigh;
+        long divisorLow;
+        final long quotient;
+
+        if (divisor.seconds == 0 && divisor.nanoseconds == 0)
             throw new ArithmeticException("Invalid divisor");
 
-        if (neg)
-            divisor *= -1;
+        //noinspection MagicNumber
+        if (((Math.abs(seconds) | Math.abs(divisor.seconds)) >>> 33) == 0)
+            return (seconds * PrivateUtils.NS_PER_S + nanoseconds) / (divisor.seconds * PrivateUtils.NS_PER_S + divisor.nanoseconds);
 
-        s = seconds / divisor;
-        sRest = seconds % divisor;
+        high = PrivateUtils.toNanosHigh(seconds, nanoseconds);
+        low = PrivateUtils.toNanosLow(seconds, nanoseconds);
+        divisorHigh = PrivateUtils.toNanosHigh(divisor.seconds, divisor.nanoseconds);
+        divisorLow = PrivateUtils.toNanosLow(divisor.seconds, divisor.nanoseconds);
 
-        if (sRest >= (Long.MAX_VALUE / PrivateUtils.NS_PER_S))
-            throw new ArithmeticException("Overflow");
+        if (high < 0) {
+            low = -low;
+            high = ~high + (low == 0 ? 1 : 0);
+        }
+        if (divisorHigh < 0) {
+            divisorLow = -divisorLow;
+            divisorHigh = ~divisorHigh + (divisorLow == 0 ? 1 : 0);
+        }
 
-        ns = (nanoseconds + sRest * PrivateUtils.NS_PER_S) / divisor;
+        quotient = PrivateUtils.unsignedDivide(high, low, divisorHigh, divisorLow);
 
-        ret = new Duration(s, ns);
+        if (negative && quotient != 0) {
+            if (quotient < 0 && quotient != Long.MIN_VALUE)
+                throw PrivateUtils.longOverflow();
+            return -quotient;
+        }
 
-        if (neg)
-            return ret.negated();
+        if (quotient < 0)
+            throw PrivateUtils.longOverflow();
 
-        return ret;
+        return quotient;
     }
 
 
@@ -291,14 +453,53 @@ public final class Duration extends PrivateUtils.SecondsNanosecondsBaseClass<Dur
      */
     @Contract(value = "_, _ -> new", pure = true)
     public static @NotNull Duration between(@NotNull Temporal startInclusive, @NotNull Temporal endExclusive) {
-        final long startSeconds = startInclusive.getLong(ChronoField.INSTANT_SECONDS);
-        final long startNanoseconds = startInclusive.getLong(ChronoField.NANO_OF_SECOND);
-        final long endSeconds = endExclusive.getLong(ChronoField.INSTANT_SECONDS);
-        final long endNanoseconds = endExclusive.getLong(ChronoField.NANO_OF_SECOND);
+        final long startSeconds;
+        final long startNanoseconds;
+        final long endSeconds;
+        final long endNanoseconds;
+
+        if (startInclusive instanceof Instant && endExclusive instanceof Instant) {
+            startSeconds = ((Instant) startInclusive).seconds;
+            startNanoseconds = ((Instant) startInclusive).nanoseconds;
+            endSeconds = ((Instant) endExclusive).seconds;
+            endNanoseconds = ((Instant) endExclusive).nanoseconds;
+        } else {
+            startSeconds = startInclusive.getLong(ChronoField.INSTANT_SECONDS);
+            startNanoseconds = startInclusive.getLong(ChronoField.NANO_OF_SECOND);
+            endSeconds = endExclusive.getLong(ChronoField.INSTANT_SECONDS);
+            endNanoseconds = endExclusive.getLong(ChronoField.NANO_OF_SECOND);
+        }
 
+        PrivateUtils.track(Duration.class, "between");
         return new Duration(PrivateUtils.subtract(endSeconds, startSeconds), PrivateUtils.subtract(endNanoseconds, startNanoseconds));
     }
 
+    /**
+     * Calculates the time between two instants without creating a {@link Duration}.
+     * @param startInclusive The start.
+     * @param endExclusive The end.
+     * @return The time in [ns].
+     * @throws ArithmeticException If the result does not fit a {@code long}.
+     * @see Instant#nanosUntil(Instant)
+     */
+    @Contract(pure = true)
+    public static long betweenNanos(@NotNull Instant startInclusive, @NotNull Instant endExclusive) {
+        return startInclusive.nanosUntil(endExclusive);
+    }
+
+    /**
+     * Calculates the time between two instants without creating a {@link Duration}.
+     * @param startInclusive The start.
+     * @param endExclusive The end.
+     * @return The time in [ms].
+     * @throws ArithmeticException If the result does not fit a {@code long}.
+     * @see Instant#millisUntil(Instant)
+     */
+    @Contract(pure = true)
+    public static long betweenMillis(@NotNull Instant startInclusive, @NotNull Instant endExclusive) {
+        return startInclusive.millisUntil(endExclusive);
+    }
+
     /**
      * Sets the nanosecond part of this duration.
      * @param nanoOfSecond The new nanosecond part.
@@ -306,7 +507,7 @@ public final class Duration extends PrivateUtils.SecondsNanosecondsBaseClass<Dur
      */
     @Contract(value = "_ -> new", pure = true)
     public @NotNull Duration withNanos(int nanoOfSecond) {
-        return new Duration(seconds, nanoOfSecond);
+        return newInstance(seconds, nanoOfSecond, "withNanos");
     }
 
     /**
@@ -316,7 +517,7 @@ public final class Duration extends PrivateUtils.SecondsNanosecondsBaseClass<Dur
      */
     @Contract(value = "_ -> new", pure = true)
     public @NotNull Duration withSeconds(@SuppressWarnings("ParameterHidesMemberVariable") long seconds) {
-        return new Duration(seconds, nanoseconds);
+        return newInstance(seconds, nanoseconds, "withSeconds");
     }
 
     /**
@@ -334,4 +535,47 @@ public final class Duration extends PrivateUtils.SecondsNanosecondsBaseClass<Dur
     public long toNanos() {
         return to(ChronoUnit.NANOS);
     }
+
+    /**
+     * Returns the duration in audio samples, rounded to the nearest sample with halves towards positive infinity.
+     * @param sampleRate The sample rate in [Hz].
+     * @return The number of samples.
+     * @throws IllegalArgumentException If the sample rate is not positive.
+     * @throws ArithmeticException If the result does not fit a {@code long}.
+     * @see #ofSamples(long, int)
+     */
+    @Contract(pure = true)
+    public long toSamples(int sampleRate) {
+        return PrivateUtils.toSamples(seconds, nanoseconds, sampleRate);
+    }
+
+    /**
+     * Returns the duration in [ms] or the given value if it does not fit a {@code long}.
+     * @param valueOnOverflow The value to return on overflow.
+     * @return The duration in [ms].
+     * @see #toMillis()
+     */
+    @Contract(pure = true)
+    public long tryToMillis(long valueOnOverflow) {
+        final long millis = nanoseconds / PrivateUtils.MS_PER_NS;
+
+        if (!PrivateUtils.fitsUnits(seconds, millis, PrivateUtils.MS_PER_S))
+            return valueOnOverflow;
+
+        return PrivateUtils.toUnits(seconds, millis, PrivateUtils.MS_PER_S);
+    }
+
+    /**
+     * Returns the duration in [ns] or the given value if it does not fit a {@code long}.
+     * @param valueOnOverflow The value to return on overflow.
+     * @return The duration in [ns].
+     * @see #toNanos()
+     */
+    @Contract(pure = true)
+    public long tryToNanos(long valueOnOverflow) {
+        if (!PrivateUtils.fitsUnits(seconds, nanoseconds, PrivateUtils.NS_PER_S))
+            return valueOnOverflow;
+
+        return PrivateUtils.toNanos(seconds, nanoseconds);
+    }
 }
@@ -0,0 +1,581 @@
+/*
+ * Copyright (c) 2021 nacamar GmbH - Ybrid®, a Hybrid Dynamic Live Audio Technology
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package java.time;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This class implements an append-only journal of timestamped events in memory-mapped files.
+ * <P>
+ * Each record is 24 bytes in little endian byte order:
+ * <ul>
+ *     <li>8 bytes: the seconds of the {@link Instant}</li>
+ *     <li>4 bytes: the nanoseconds of the {@link Instant}, bit 31 is set once the record is complete</li>
+ *     <li>4 bytes: the event code</li>
+ *     <li>8 bytes: the payload</li>
+ * </ul>
+ * <P>
+ * Records are written directly into mapped memory, so appending does not need a system call and the records
+ * survive a crash of the process. Use {@link #force()} to also make them survive a crash of the system.
+ * <P>
+ * Appending is lock-free and can be done from several threads. Each record slot is reserved with an atomic
+ * increment, so records are stored in the order their slots were reserved. The journal is split into segment files
+ * of a fixed number of records. The next segment is always created and mapped ahead of time by a background
+ * thread, which also deletes the oldest segments once the configured number of segments is exceeded. An append
+ * that finds a segment full only swaps in the prepared one. If it is not ready yet, the record is dropped and
+ * counted instead of blocking. If preparing a segment fails with an {@link IOException} it is retried. Any other
+ * failure stops the background thread and is rethrown by all later appends.
+ * <P>
+ * The commit bit of a record is written after a full memory fence, so it never becomes visible before the rest of
+ * the record. The Java memory model does not cover memory-mapped files, so the fence is a store to a
+ * {@code volatile} field of the journal, which HotSpot and ART both implement with a trailing full barrier. Each
+ * journal has its own field, so journals do not contend with each other for it. This holds for other
+ * threads and for the page contents after a crash of the process. After a crash of the system, records written
+ * after the last {@link #force()} may be missing or torn regardless of their commit bit.
+ * <P>
+ * Segment files are named {@code <name>-<number>.journal} and can be read with {@link Reader}. Opening a journal
+ * always starts a new segment. The file of the prepared segment exists but holds no records.
+ */
+public final class EventJournal implements Closeable {
+    /**
+     * The size of one record in bytes.
+     */
+    public static final int RECORD_SIZE = 24;
+
+    private static final int SECONDS_OFFSET = 0;
+    private static final int NANO_OFFSET = 8;
+    private static final int CODE_OFFSET = 12;
+    private static final int PAYLOAD_OFFSET = 16;
+    private static final int COMMITTED = 0x80000000;
+    private static final String SUFFIX = ".journal";
+    private static final long RETRY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final @NotNull File directory;
+    private final @NotNull String name;
+    private final int recordsPerSegment;
+    private final int maxSegments;
+    private final @NotNull AtomicLong dropped = new AtomicLong();
+    private final @NotNull AtomicReference<Segment> current;
+    private final @NotNull AtomicReference<Segment> spare = new AtomicReference<>();
+    private final @NotNull Thread preparer;
+    private volatile boolean closed = false;
+    private volatile @Nullable Throwable failure = null;
+    @SuppressWarnings("unused")
+    private volatile int fence = 0;
+
+    private static final class Segment {
+        private final long number;
+        private final @NotNull MappedByteBuffer buffer;
+        private final @NotNull AtomicInteger next = new AtomicInteger();
+
+        private Segment(long number, @NotNull MappedByteBuffer buffer) {
+            this.number = number;
+            this.buffer = buffer;
+        }
+    }
+
+    /**
+     * Opens a journal.
+     * <P>
+     * This maps the first two segments and starts the background thread preparing further segments.
+     *
+     * @param directory The directory to store the segment files in.
+     * @param name The name of the journal, used as prefix for the segment files.
+     * @param recordsPerSegment The number of records per segment file.
+     * @param maxSegments The maximum number of segment files to keep, not counting the prepared one.
+     * @throws IOException If the first segment files cannot be created.
+     */
+    public EventJournal(@NotNull File directory, @NotNull String name, int recordsPerSegment, int maxSegments) throws IOException {
+        final @NotNull File[] existing;
+        final long first;
+
+        if (recordsPerSegment <= 0 || recordsPerSegment > Integer.MAX_VALUE / RECORD_SIZE)
+            throw new IllegalArgumentException("Invalid number of records per segment: " + recordsPerSegment);
+        if (maxSegments <= 0)
+            throw new IllegalArgumentException("Maximum number of segments must be positive");
+
+        this.directory = directory;
+        this.name = name;
+        this.recordsPerSegment = recordsPerSegment;
+        this.maxSegments = maxSegments;
+
+        existing = listSegments(directory, name);
+        first = existing.length == 0 ? 0 : segmentNumber(existing[existing.length - 1], name) + 1;
+        this.current = new AtomicReference<>(openSegment(first));
+        this.spare.set(openSegment(first + 1));
+        deleteOldSegments(first);
+
+        this.preparer = new Thread(this::prepare, "EventJournal-" + name);
+        this.preparer.setDaemon(true);
+        this.preparer.start();
+    }
+
+    /**
+     * Returns the segment files of a journal, oldest first.
+     * @param directory The directory the segment files are stored in.
+     * @param name The name of the journal.
+     * @return The segment files.
+     */
+    public static @NotNull File[] listSegments(@NotNull File directory, @NotNull String name) {
+        final File[] files = directory.listFiles((dir, file) -> file.startsWith(name + "-") && file.endsWith(SUFFIX) && segmentNumber(file, name) >= 0);
+
+        if (files == null)
+            return new File[0];
+
+        Arrays.sort(files, (a, b) -> Long.compare(segmentNumber(a, name), segmentNumber(b, name)));
+        return files;
+    }
+
+    private static long segmentNumber(@NotNull File file, @NotNull String name) {
+        return segmentNumber(file.getName(), name);
+    }
+
+    private static long segmentNumber(@NotNull String file, @NotNull String name) {
+        try {
+            return Long.parseLong(file.substring(name.length() + 1, file.length() - SUFFIX.length()));
+        } catch (NumberFormatException | IndexOutOfBoundsException ignored) {
+            return -1;
+        }
+    }
+
+    private @NotNull Segment openSegment(long number) throws IOException {
+        final long size = (long) recordsPerSegment * RECORD_SIZE;
+
+        try (RandomAccessFile file = new RandomAccessFile(new File(directory, name + "-" + number + SUFFIX), "rw")) {
+            final MappedByteBuffer buffer;
+
+            file.setLength(size);
+            buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            return new Segment(number, buffer);
+        }
+    }
+
+    private void deleteOldSegments(long currentNumber) {
+        for (final File file : listSegments(directory, name)) {
+            if (segmentNumber(file, name) <= currentNumber - maxSegments) {
+                //noinspection ResultOfMethodCallIgnored
+                file.delete();
+            }
+        }
+    }
+
+    /**
+     * Runs on the background thread: maps the next segment whenever the prepared one was taken.
+     */
+    private void prepare() {
+        while (!closed) {
+            final @NotNull Segment active = current.get();
+
+            if (spare.get() == null) {
+                try {
+                    spare.set(openSegment(active.number + 1));
+                    deleteOldSegments(active.number);
+                } catch (IOException ignored) {
+                    LockSupport.parkNanos(this, RETRY_NANOS);
+                    continue;
+                } catch (Throwable e) {
+                    failure = e;
+                    return;
+                }
+            }
+
+            LockSupport.park(this);
+        }
+    }
+
+    private boolean rotate(@NotNull Segment full) {
+        final @Nullable Segment next = spare.get();
+
+        if (next == null || next.number != full.number + 1)
+            return current.get() != full;
+
+        if (current.compareAndSet(full, next)) {
+            spare.compareAndSet(next, null);
+            LockSupport.unpark(preparer);
+        }
+
+        return true;
+    }
+
+    /**
+     * Appends a record.
+     * @param epochSecond The seconds of the instant.
+     * @param nano The nanoseconds of the instant.
+     * @param code The event code.
+     * @param payload The payload.
+     * @return Whether the record was written. This is {@code false} if the journal is closed or the next segment
+     *         was not prepared in time.
+     * @throws IllegalStateException If preparing a segment failed with an unexpected exception.
+     */
+    public boolean append(long epochSecond, int nano, int code, long payload) {
+        final @Nullable Throwable failed = failure;
+
+        if (nano < 0 || nano >= PrivateUtils.NS_PER_S)
+            throw new IllegalArgumentException("Invalid nanoseconds: " + nano);
+        if (failed != null)
+            throw new IllegalStateException("Preparing the next segment failed", failed);
+
+        while (!closed) {
+            final @NotNull Segment segment = current.get();
+            final int index = segment.next.getAndIncrement();
+            final int offset;
+
+            if (index >= recordsPerSegment || index < 0) {
+                if (!rotate(segment))
+                    break;
+                continue;
+            }
+
+            offset = index * RECORD_SIZE;
+            segment.buffer.putLong(offset + SECONDS_OFFSET, epochSecond);
+            segment.buffer.putInt(offset + CODE_OFFSET, code);
+            segment.buffer.putLong(offset + PAYLOAD_OFFSET, payload);
+            fullFence();
+            segment.buffer.putInt(offset + NANO_OFFSET, nano | COMMITTED);
+            return true;
+        }
+
+        dropped.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Appends a record.
+     * @param instant The instant.
+     * @param code The event code.
+     * @param payload The payload.
+     * @return Whether the record was written.
+     * @see #append(long, int, int, long)
+     */
+    public boolean append(@NotNull Instant instant, int code, long payload) {
+        return append(instant.seconds, instant.nanoseconds, code, payload);
+    }
+
+    /**
+     * Appends a record with the current time of the given clock, read using {@link Clock#millis()}.
+     * @param clock The clock.
+     * @param code The event code.
+     * @param payload The payload.
+     * @return Whether the record was written.
+     * @see #append(long, int, int, long)
+     */
+    public boolean append(@NotNull Clock clock, int code, long payload) {
+        final long millis = clock.millis();
+
+        return append(PrivateUtils.floorDiv(millis, PrivateUtils.MS_PER_S), (int) (PrivateUtils.floorMod(millis, PrivateUtils.MS_PER_S) * PrivateUtils.MS_PER_NS), code, payload);
+    }
+
+    /**
+     * Returns the number of records that were dropped because the journal was closed or the next segment was
+     * not prepared in time.
+     * @return The number of dropped records.
+     */
+    @Contract(pure = true)
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Writes the current segment to the storage device.
+     */
+    public void force() {
+        current.get().buffer.force();
+    }
+
+    /**
+     * Closes the journal.
+     * <P>
+     * Later appends are dropped. The current segment is written to the storage device, the background thread is
+     * stopped and the segments are released. The files themselves are not held open after mapping, and the
+     * mappings are removed once the buffers are garbage collected, as Java offers no way to unmap them explicitly.
+     * Segments beyond the configured number are deleted, as is the prepared segment file, which holds no records.
+     *
+     * @throws IOException If the thread was interrupted while waiting for the background thread.
+     */
+    @Override
+    public void close() throws IOException {
+        final @Nullable Segment unused;
+
+        if (closed)
+            return;
+
+        closed = true;
+        LockSupport.unpark(preparer);
+        try {
+            preparer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while closing", e);
+        }
+
+        current.get().buffer.force();
+        deleteOldSegments(current.get().number);
+        unused = spare.getAndSet(null);
+        if (unused != null) {
+            //noinspection ResultOfMethodCallIgnored
+            new File(directory, name + "-" + unused.number + SUFFIX).delete();
+        }
+    }
+
+    /**
+     * Orders all memory accesses before this call before all memory accesses after it.
+     */
+    private void fullFence() {
+        fence = 0;
+    }
+
+    /**
+     * This class reads a segment file.
+     * <P>
+     * Only completed records are visible. Slots that were reserved but never completed, for example because the
+     * writing thread was still busy when the reader was opened or the process crashed while writing them, are
+     * skipped by all accessors and searches. The number of skipped slots is returned by {@link #getSkippedCount()}.
+     * The set of visible records is fixed when the reader is opened.
+     * <P>
+     * All accessors read directly from the mapped file. If there are skipped slots an index of the completed slots
+     * is kept.
+     * <P>
+     * The binary search methods expect the instants to be ordered by index. This holds if records are only
+     * appended from one thread or if the instants are taken in the order slots are reserved.
+     */
+    public static final class Reader {
+        private final @NotNull MappedByteBuffer buffer;
+        private final int size;
+        private final int skipped;
+        private final int @Nullable [] slots;
+        @SuppressWarnings("unused")
+        private volatile int fence = 0;
+
+        private Reader(@NotNull MappedByteBuffer buffer) {
+            final int capacity = buffer.capacity() / RECORD_SIZE;
+            int last = capacity - 1;
+            int committed = 0;
+
+            this.buffer = buffer;
+            while (last >= 0 && !isCommittedSlot(last))
+                last--;
+
+            for (int i = 0; i <= last; i++) {
+                if (isCommittedSlot(i))
+                    committed++;
+            }
+
+            this.size = committed;
+            this.skipped = last + 1 - committed;
+
+            if (skipped == 0) {
+                this.slots = null;
+            } else {
+                this.slots = new int[committed];
+                for (int i = 0, j = 0; i <= last; i++) {
+                    if (isCommittedSlot(i))
+                        slots[j++] = i;
+                }
+            }
+
+            // Make sure the contents of all records seen as committed above are read after their commit bits.
+            fence = 0;
+        }
+
+        private boolean isCommittedSlot(int slot) {
+            return (buffer.getInt(slot * RECORD_SIZE + NANO_OFFSET) & COMMITTED) != 0;
+        }
+
+        /**
+         * Opens a segment file for reading.
+         * @param file The segment file.
+         * @return The new reader.
+         * @throws IOException If the file cannot be mapped.
+         */
+        public static @NotNull Reader open(@NotNull File file) throws IOException {
+            try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+                final MappedByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length());
+
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+                return new Reader(buffer);
+            }
+        }
+
+        /**
+         * Returns the number of completed records.
+         * @return The number of records.
+         */
+        @Contract(pure = true)
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Returns the number of slots that were skipped as they did not hold a completed record.
+         * @return The number of skipped slots.
+         */
+        @Contract(pure = true)
+        public int getSkippedCount() {
+            return skipped;
+        }
+
+        /**
+         * Returns the seconds of the instant of a record.
+         * @param index The index of the record.
+         * @return The seconds as defined by {@link java.time.temporal.ChronoField#INSTANT_SECONDS}.
+         */
+        @Contract(pure = true)
+        public long getEpochSecond(int index) {
+            return buffer.getLong(offset(index) + SECONDS_OFFSET);
+        }
+
+        /**
+         * Returns the nanoseconds of the instant of a record.
+         * @param index The index of the record.
+         * @return The nanoseconds as defined by {@link java.time.temporal.ChronoField#NANO_OF_SECOND}.
+         */
+        @Contract(pure = true)
+        public int getNano(int index) {
+            return buffer.getInt(offset(index) + NANO_OFFSET) & ~COMMITTED;
+        }
+
+        /**
+         * Returns the instant of a record.
+         * @param index The index of the record.
+         * @return The new instant.
+         */
+        @Contract(value = "_ -> new", pure = true)
+        public @NotNull Instant getInstant(int index) {
+            return Instant.ofEpochSecond(getEpochSecond(index), getNano(index));
+        }
+
+        /**
+         * Returns the event code of a record.
+         * @param index The index of the record.
+         * @return The event code.
+         */
+        @Contract(pure = true)
+        public int getCode(int index) {
+            return buffer.getInt(offset(index) + CODE_OFFSET);
+        }
+
+        /**
+         * Returns the payload of a record.
+         * @param index The index of the record.
+         * @return The payload.
+         */
+        @Contract(pure = true)
+        public long getPayload(int index) {
+            return buffer.getLong(offset(index) + PAYLOAD_OFFSET);
+        }
+
+        private int offset(int index) {
+            if (index < 0 || index >= size)
+                throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+            return (slots == null ? index : slots[index]) * RECORD_SIZE;
+        }
+
+        private int compareAt(int index, long epochSecond, int nano) {
+            return PrivateUtils.compare(getEpochSecond(index), getNano(index), epochSecond, nano);
+        }
+
+        /**
+         * Returns the index of the first record at or after the given instant.
+         * @param epochSecond The seconds of the instant.
+         * @param nano The nanoseconds of the instant.
+         * @return The index or {@code -1} if there is no such record.
+         */
+        @Contract(pure = true)
+        public int ceilingIndex(long epochSecond, int nano) {
+            int lo = 0;
+            int hi = size;
+
+            while (lo < hi) {
+                final int mid = (lo + hi) >>> 1;
+
+                if (compareAt(mid, epochSecond, nano) < 0)
+                    lo = mid + 1;
+                else
+                    hi = mid;
+            }
+
+            return lo < size ? lo : -1;
+        }
+
+        /**
+         * Returns the index of the last record at or before the given instant.
+         * @param epochSecond The seconds of the instant.
+         * @param nano The nanoseconds of the instant.
+         * @return The index or {@code -1} if there is no such record.
+         */
+        @Contract(pure = true)
+        public int floorIndex(long epochSecond, int nano) {
+            int lo = 0;
+            int hi = size;
+
+            while (lo < hi) {
+                final int mid = (lo + hi) >>> 1;
+
+                if (compareAt(mid, epochSecond, nano) <= 0)
+                    lo = mid + 1;
+                else
+                    hi = mid;
+            }
+
+            return lo - 1;
+        }
+
+        /**
+         * Returns the index of the first record at or after the given instant.
+         * @param instant The instant.
+         * @return The index or {@code -1} if there is no such record.
+         */
+        @Contract(pure = true)
+        public int ceilingIndex(@NotNull Instant instant) {
+            return ceilingIndex(instant.seconds, instant.nanoseconds);
+        }
+
+        /**
+         * Returns the index of the last record at or before the given instant.
+         * @param instant The instant.
+         * @return The index or {@code -1} if there is no such record.
+         */
+        @Contract(pure = true)
+        public int floorIndex(@NotNull Instant instant) {
+            return floorIndex(instant.seconds, instant.nanoseconds);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2021 nacamar GmbH - Ybrid®, a Hybrid Dynamic Live Audio Technology
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package java.time;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class implements a hybrid logical clock.
+ * <P>
+ * A timestamp combines the physical time in [ms] since the epoch with a logical counter, packed into a single
+ * {@code long}: the upper 48 bits hold the physical time, the lower 16 bits the counter. Timestamps therefore compare
+ * like plain {@code long} values. They follow the order of events that causally depend on each other, while
+ * staying close to the physical time. If the counter overflows it carries into the physical time.
+ * <P>
+ * The physical time is read from the given {@link Clock} using {@link Clock#millis()}. Timestamps received from
+ * other nodes that are ahead of the local clock by more than the maximum skew are rejected, so a node with a wrong
+ * clock cannot move the clocks of all other nodes forward.
+ * <P>
+ * The last timestamp is kept in an {@link AtomicLong} and updated using compare-and-set, so all methods are
+ * lock-free and do not allocate.
+ */
+public final class HybridLogicalClock {
+    /**
+     * The number of bits used for the logical counter.
+     */
+    public static final int LOGICAL_BITS = 16;
+
+    /**
+     * The number of bytes of the binary form of a timestamp.
+     */
+    public static final int BYTES = 8;
+
+    private static final long LOGICAL_MASK = (1L << LOGICAL_BITS) - 1;
+
+    private final @NotNull Clock clock;
+    private final long maxSkewMillis;
+    private final @NotNull AtomicLong last = new AtomicLong(0);
+
+    /**
+     * Creates a new clock.
+     * @param clock The clock to read the physical time from.
+     * @param maxSkew The maximum time a received timestamp may be ahead of the local clock.
+     */
+    public HybridLogicalClock(@NotNull Clock clock, @NotNull Duration maxSkew) {
+        if (maxSkew.isNegative())
+            throw new IllegalArgumentException("Maximum skew must not be negative");
+
+        this.clock = clock;
+        this.maxSkewMillis = maxSkew.toMillis();
+    }
+
+    private long physicalNow() {
+        final long millis = clock.millis();
+
+        if (millis < 0 || (millis >>> (Long.SIZE - 1 - LOGICAL_BITS)) != 0)
+            throw new DateTimeException("Time out of range: " + millis);
+
+        return millis;
+    }
+
+    /**
+     * Returns a new timestamp for a local or send event.
+     * @return The timestamp, which is later than all timestamps returned or received before.
+     */
+    public long now() {
+        final long physical = physicalNow();
+
+        while (true) {
+            final long current = last.get();
+            final long next = physical > physicalMillis(current) ? of(physical, 0) : current + 1;
+
+            if (last.compareAndSet(current, next))
+                return next;
+        }
+    }
+
+    /**
+     * Merges a timestamp received from another node and returns a new timestamp for the receive event.
+     * @param received The received timestamp.
+     * @return The timestamp, which is later than the received one and all timestamps returned or received before.
+     * @throws DateTimeException If the received timestamp is ahead of the local clock by more than the maximum skew.
+     */
+    public long update(long received) {
+        final long physical = physicalNow();
+
+        if (physicalMillis(received) - physical > maxSkewMillis)
+            throw new DateTimeException("Received timestamp is " + (physicalMillis(received) - physical) + "ms ahead of local clock");
+
+        while (true) {
+            final long current = last.get();
+            final long latest = Math.max(current, received);
+            final long next = physical > physicalMillis(latest) ? of(physical, 0) : latest + 1;
+
+            if (last.compareAndSet(current, next))
+                return next;
+        }
+    }
+
+    /**
+     * Returns the last timestamp returned by {@link #now()} or {@link #update(long)}.
+     * @return The timestamp.
+     */
+    @Contract(pure = true)
+    public long getLast() {
+        return last.get();
+    }
+
+    /**
+     * Packs a physical time and a logical counter into a timestamp.
+     * @param physicalMillis The physical time in [ms] since the epoch.
+     * @param logical The logical counter.
+     * @return The timestamp.
+     */
+    @Contract(pure = true)
+    public static long of(long physicalMillis, int logical) {
+        if (logical < 0 || logical > LOGICAL_MASK)
+            throw new IllegalArgumentException("Invalid logical counter: " + logical);
+
+        return (physicalMillis << LOGICAL_BITS) | logical;
+    }
+
+    /**
+     * Returns the physical time of a timestamp.
+     * @param timestamp The timestamp.
+     * @return The physical time in [ms] since the epoch.
+     */
+    @Contract(pure = true)
+    public static long physicalMillis(long timestamp) {
+        return timestamp >>> LOGICAL_BITS;
+    }
+
+    /**
+     * Returns the logical counter of a timestamp.
+     * @param timestamp The timestamp.
+     * @return The logical counter.
+     */
+    @Contract(pure = true)
+    public static int logical(long timestamp) {
+        return (int) (timestamp & LOGICAL_MASK);
+    }
+
+    /**
+     * Returns the physical time of a timestamp.
+     * @param timestamp The timestamp.
+     * @return The physical time.
+     */
+    @Contract(value = "_ -> new", pure = true)
+    public static @NotNull Instant toInstant(long timestamp) {
+        return Instant.ofEpochMilli(physicalMillis(timestamp));
+    }
+
+    /**
+     * Compares two timestamps.
+     * @param a The first timestamp.
+     * @param b The second timestamp.
+     * @return A negative value, zero, or a positive value if the first timestamp is before, equal to, or after the second.
+     */
+    @Contract(pure = true)
+    public static int compare(long a, long b) {
+        return Long.compare(a, b);
+    }
+
+    /**
+     * Writes a timestamp in its binary form of {@link #BYTES} bytes in big endian byte order.
+     * @param timestamp The timestamp.
+     * @param buffer The buffer to write to.
+     * @param offset The offset to write at.
+     */
+    public static void encode(long timestamp, @NotNull byte[] buffer, int offset) {
+        for (int i = BYTES - 1; i >= 0; i--) {
+            buffer[offset + i] = (byte) timestamp;
+            timestamp >>>= Byte.SIZE;
+        }
+    }
+
+    /**
+     * Reads a timestamp from its binary form.
+     * @param buffer The buffer to read from.
+     * @param offset The offset to read at.
+     * @return The timestamp.
+     * @see #encode(long, byte[], int)
+     */
+    @Contract(pure = true)
+    public static long decode(@NotNull byte[] buffer, int offset) {
+        long timestamp = 0;
+
+        for (int i = 0; i < BYTES; i++)
+            timestamp = (timestamp << Byte.SIZE) | (buffer[offset + i] & 0xFF);
+
+        return timestamp;
+    }
+}
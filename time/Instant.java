@@ -79,6 +79,7 @@ public final class Instant extends PrivateUtils.SecondsNanosecondsBaseClass<Inst
      */
     @Contract(value = "_ -> new", pure = true)
     public static @NotNull Instant ofEpochSecond(long epochSecond) {
+        PrivateUtils.track(Instant.class, "ofEpochSecond");
         return new Instant(epochSecond, 0);
     }
 
@@ -90,6 +91,7 @@ public final class Instant extends PrivateUtils.SecondsNanosecondsBaseClass<Inst
      */
     @Contract(value = "_ -> new", pure = true)
     public @NotNull static Instant ofEpochSecond(long epochSecond, long nanoAdjustment) {
+        PrivateUtils.track(Instant.class, "ofEpochSecond");
         return new Instant(epochSecond, nanoAdjustment);
     }
 
@@ -102,9 +104,37 @@ public final class Instant extends PrivateUtils.SecondsNanosecondsBaseClass<Inst
     public static @NotNull Instant ofEpochMilli(long epochMilli) {
         long s = epochMilli / PrivateUtils.MS_PER_S;
         long ns = (epochMilli - s * PrivateUtils.MS_PER_S) * PrivateUtils.MS_PER_NS;
+        PrivateUtils.track(Instant.class, "ofEpochMilli");
         return new Instant(s, ns);
     }
 
+    /**
+     * Returns a new instant for the given time.
+     * <P>
+     * Together with {@link #toEpochNano()} this encodes an instant in a single {@code long}, which covers about
+     * 292 years around the epoch.
+     *
+     * @param epochNano The given time as [ns] since the epoch.
+     * @return The new instant.
+     */
+    @Contract(value = "_ -> new", pure = true)
+    public static @NotNull Instant ofEpochNano(long epochNano) {
+        PrivateUtils.track(Instant.class, "ofEpochNano");
+        return new Instant(0, epochNano);
+    }
+
+    /**
+     * Returns a lazy range of instants.
+     * @param startInclusive The first instant.
+     * @param endExclusive The exclusive end.
+     * @param step The step between two instants. Negative steps count down.
+     * @return The new range.
+     */
+    @Contract(value = "_, _, _ -> new", pure = true)
+    public static @NotNull InstantRange range(@NotNull Instant startInclusive, @NotNull Instant endExclusive, @NotNull Duration step) {
+        return new InstantRange(startInclusive, endExclusive, step);
+    }
+
     @Override
     @Contract(pure = true)
     public int compareTo(Instant o) {
@@ -146,9 +176,9 @@ public final class Instant extends PrivateUtils.SecondsNanosecondsBaseClass<Inst
         if (field instanceof ChronoField) {
             switch ((ChronoField) field) {
                 case NANO_OF_SECOND:
-                    return new Instant(seconds, newValue);
+                    return newInstance(seconds, newValue, "with");
                 case INSTANT_SECONDS:
-                    return new Instant(newValue, nanoseconds);
+                    return newInstance(newValue, nanoseconds, "with");
             }
         }
 
@@ -157,9 +187,70 @@ public final class Instant extends PrivateUtils.SecondsNanosecondsBaseClass<Inst
 
     @Override
     public long until(@NotNull Temporal endExclusive, @NotNull TemporalUnit unit) {
+        if (endExclusive instanceof Instant && unit instanceof ChronoUnit) {
+            final @NotNull Instant end = (Instant) endExclusive;
+
+            switch ((ChronoUnit) unit) {
+                case NANOS:
+                    return nanosUntil(end);
+                case MILLIS:
+                    return millisUntil(end);
+                case SECONDS:
+                    return secondsUntil(end);
+            }
+        }
+
         return Duration.between(this, endExclusive).to(unit);
     }
 
+    @Contract(pure = true)
+    private long secondsUntil(@NotNull Instant endExclusive) {
+        final long s = PrivateUtils.subtract(endExclusive.seconds, seconds);
+
+        if (endExclusive.nanoseconds < nanoseconds)
+            return PrivateUtils.decrement(s);
+
+        return s;
+    }
+
+    @Contract(pure = true)
+    private long nanoOfSecondUntil(@NotNull Instant endExclusive) {
+        final long ns = endExclusive.nanoseconds - nanoseconds;
+
+        if (ns < 0)
+            return ns + PrivateUtils.NS_PER_S;
+
+        return ns;
+    }
+
+    /**
+     * Returns the time from this to the given instant.
+     * <P>
+     * This is the same as {@code until(endExclusive, ChronoUnit.NANOS)} but does not create any objects.
+     *
+     * @param endExclusive The end.
+     * @return The time in [ns].
+     * @throws ArithmeticException If the result does not fit a {@code long}.
+     */
+    @Contract(pure = true)
+    public long nanosUntil(@NotNull Instant endExclusive) {
+        return PrivateUtils.toNanos(secondsUntil(endExclusive), nanoOfSecondUntil(endExclusive));
+    }
+
+    /**
+     * Returns the time from this to the given instant.
+     * <P>
+     * This is the same as {@code until(endExclusive, ChronoUnit.MILLIS)} but does not create any objects.
+     *
+     * @param endExclusive The end.
+     * @return The time in [ms].
+     * @throws ArithmeticException If the result does not fit a {@code long}.
+     */
+    @Contract(pure = true)
+    public long millisUntil(@NotNull Instant endExclusive) {
+        return PrivateUtils.toUnits(secondsUntil(endExclusive), nanoOfSecondUntil(endExclusive) / PrivateUtils.MS_PER_NS, PrivateUtils.MS_PER_S);
+    }
+
     @Override
     public int get(@NotNull TemporalField field) {
         final long val = getLong(field);
@@ -198,6 +289,67 @@ public final class Instant extends PrivateUtils.SecondsNanosecondsBaseClass<Inst
         return to(ChronoUnit.MILLIS);
     }
 
+    /**
+     * Returns the milliseconds since the epoch or the given value if they do not fit a {@code long}.
+     * @param valueOnOverflow The value to return on overflow.
+     * @return The passed milliseconds.
+     * @see #toEpochMilli()
+     */
+    @Contract(pure = true)
+    public long tryToEpochMilli(long valueOnOverflow) {
+        final long millis = nanoseconds / PrivateUtils.MS_PER_NS;
+
+        if (!PrivateUtils.fitsUnits(seconds, millis, PrivateUtils.MS_PER_S))
+            return valueOnOverflow;
+
+        return PrivateUtils.toUnits(seconds, millis, PrivateUtils.MS_PER_S);
+    }
+
+    /**
+     * Returns the nanoseconds since the epoch.
+     * @return The passed nanoseconds.
+     * @throws ArithmeticException If the instant is more than about 292 years away from the epoch.
+     * @see #ofEpochNano(long)
+     */
+    @Contract(pure = true)
+    public long toEpochNano() {
+        return to(ChronoUnit.NANOS);
+    }
+
+    /**
+     * Returns the nanoseconds since the epoch or the given value if they do not fit a {@code long}.
+     * @param valueOnOverflow The value to return on overflow.
+     * @return The passed nanoseconds.
+     * @see #toEpochNano()
+     */
+    @Contract(pure = true)
+    public long tryToEpochNano(long valueOnOverflow) {
+        if (!PrivateUtils.fitsUnits(seconds, nanoseconds, PrivateUtils.NS_PER_S))
+            return valueOnOverflow;
+
+        return PrivateUtils.toNanos(seconds, nanoseconds);
+    }
+
+    /**
+     * Adds a duration, clamping the result to {@link #MIN} and {@link #MAX} instead of throwing an exception.
+     * @param duration The duration to add.
+     * @return The new instant.
+     */
+    @Contract(pure = true)
+    public @NotNull Instant plusSaturating(@NotNull Duration duration) {
+        return saturatedAdd(duration.seconds, duration.nanoseconds, MIN, MAX, "plusSaturating");
+    }
+
+    /**
+     * Subtracts a duration, clamping the result to {@link #MIN} and {@link #MAX} instead of throwing an exception.
+     * @param duration The duration to subtract.
+     * @return The new instant.
+     */
+    @Contract(pure = true)
+    public @NotNull Instant minusSaturating(@NotNull Duration duration) {
+        return saturatedSubtract(duration.seconds, duration.nanoseconds, MIN, MAX, "minusSaturating");
+    }
+
     /**
      * Returns whether this is after a given instant.
      * @param otherInstant The given instant to check with.
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2021 nacamar GmbH - Ybrid®, a Hybrid Dynamic Live Audio Technology
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package java.time;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * This class represents a lazy sequence of instants with a fixed step.
+ * <P>
+ * The sequence starts at a given instant and advances by the step until the exclusive end is reached. Negative
+ * steps count down. Nothing is computed up front: {@link #size()} and {@link #get(long)} are calculated in
+ * constant time, iterating creates one {@link Instant} per element, and {@link Cursor} iterates without creating
+ * any objects.
+ *
+ * @see Instant#range(Instant, Instant, Duration)
+ */
+public final class InstantRange implements Iterable<Instant> {
+    private final @NotNull Instant start;
+    private final @NotNull Duration step;
+    private final long size;
+
+    /**
+     * Creates a new range.
+     * @param start The first instant.
+     * @param endExclusive The exclusive end.
+     * @param step The step between two instants.
+     * @throws IllegalArgumentException If the step is zero.
+     * @throws ArithmeticException If the number of instants does not fit a {@code long}.
+     */
+    public InstantRange(@NotNull Instant start, @NotNull Instant endExclusive, @NotNull Duration step) {
+        final @NotNull Duration length = Duration.between(start, endExclusive);
+        final long steps;
+
+        if (step.isZero())
+            throw new IllegalArgumentException("Step must not be zero");
+
+        this.start = start;
+        this.step = step;
+
+        if (length.isZero() || length.isNegative() != step.isNegative()) {
+            this.size = 0;
+        } else {
+            steps = length.dividedBy(step);
+            this.size = step.multipliedBy(steps).equals(length) ? steps : PrivateUtils.increment(steps);
+        }
+    }
+
+    /**
+     * Returns the number of instants.
+     * @return The number of instants.
+     */
+    @Contract(pure = true)
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns whether the range is empty.
+     * @return Whether the range is empty.
+     */
+    @Contract(pure = true)
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the first instant.
+     * @return The first instant.
+     */
+    @Contract(pure = true)
+    public @NotNull Instant getStart() {
+        return start;
+    }
+
+    /**
+     * Returns the step between two instants.
+     * @return The step.
+     */
+    @Contract(pure = true)
+    public @NotNull Duration getStep() {
+        return step;
+    }
+
+    private long checkIndex(long index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        return index;
+    }
+
+    /**
+     * Returns the instant at the given index.
+     * @param index The index.
+     * @return The instant.
+     */
+    @Contract(pure = true)
+    public @NotNull Instant get(long index) {
+        final @NotNull Duration offset = step.multipliedBy(checkIndex(index));
+
+        return start.add(offset.seconds, offset.nanoseconds, "range");
+    }
+
+    @Override
+    public @NotNull Iterator<Instant> iterator() {
+        final @NotNull Cursor cursor = cursor();
+
+        return new Iterator<Instant>() {
+            @Override
+            public boolean hasNext() {
+                return cursor.hasNext();
+            }
+
+            @Override
+            public Instant next() {
+                if (!cursor.next())
+                    throw new NoSuchElementException();
+                return Instant.ofEpochSecond(cursor.seconds, cursor.nanoseconds);
+            }
+        };
+    }
+
+    /**
+     * Returns a new cursor placed before the first instant.
+     * @return The new cursor.
+     */
+    @Contract(value = " -> new", pure = true)
+    public @NotNull Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * This class iterates a range without creating objects.
+     * <P>
+     * The cursor starts before the first instant. Each call to {@link #next()} moves to the next instant.
+     */
+    public final class Cursor {
+        private long index = -1;
+        private long seconds;
+        private int nanoseconds;
+
+        private Cursor() {
+        }
+
+        /**
+         * Returns whether there is another instant.
+         * @return Whether {@link #next()} will succeed.
+         */
+        @Contract(pure = true)
+        public boolean hasNext() {
+            return index + 1 < size;
+        }
+
+        /**
+         * Moves to the next instant.
+         * @return Whether there was another instant.
+         */
+        public boolean next() {
+            final long ns;
+
+            if (!hasNext())
+                return false;
+
+            if (++index == 0) {
+                seconds = start.seconds;
+                nanoseconds = start.nanoseconds;
+            } else {
+                ns = (long) nanoseconds + step.nanoseconds;
+                seconds = PrivateUtils.normaliseSeconds(PrivateUtils.add(seconds, step.seconds), ns);
+                nanoseconds = PrivateUtils.normaliseNanoseconds(ns);
+            }
+
+            return true;
+        }
+
+        /**
+         * Moves to the given index. The following call to {@link #next()} moves to the instant after it.
+         * @param index The index.
+         */
+        public void seek(long index) {
+            final long high = checkIndex(index) / PrivateUtils.NS_PER_S;
+            final long ns = (long) start.nanoseconds + (index % PrivateUtils.NS_PER_S) * step.nanoseconds;
+            final long s = PrivateUtils.add(PrivateUtils.add(start.seconds, PrivateUtils.mul(index, step.seconds)), PrivateUtils.mul(high, step.nanoseconds));
+
+            this.index = index;
+            this.seconds = PrivateUtils.normaliseSeconds(s, ns);
+            this.nanoseconds = PrivateUtils.normaliseNanoseconds(ns);
+        }
+
+        /**
+         * Returns the index of the current instant.
+         * @return The index.
+         */
+        @Contract(pure = true)
+        public long getIndex() {
+            return index;
+        }
+
+        /**
+         * Returns the seconds of the current instant.
+         * @return The seconds as defined by {@link java.time.temporal.ChronoField#INSTANT_SECONDS}.
+         */
+        @Contract(pure = true)
+        public long getEpochSecond() {
+            return seconds;
+        }
+
+        /**
+         * Returns the nanoseconds of the current instant.
+         * @return The nanoseconds as defined by {@link java.time.temporal.ChronoField#NANO_OF_SECOND}.
+         */
+        @Contract(pure = true)
+        public int getNano() {
+            return nanoseconds;
+        }
+
+        /**
+         * Returns the current instant in [ns] since the epoch.
+         * @return The nanoseconds since the epoch.
+         * @throws ArithmeticException If the instant is more than about 292 years away from the epoch.
+         */
+        @Contract(pure = true)
+        public long toEpochNano() {
+            return PrivateUtils.toNanos(seconds, nanoseconds);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2021 nacamar GmbH - Ybrid®, a Hybrid Dynamic Live Audio Technology
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package java.time;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * This class represents an immutable half-open range of time on the time-line.
+ * <P>
+ * The start is inclusive and the end is exclusive. An interval with equal start and end is empty.
+ */
+public final class Interval implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final @NotNull Instant start;
+    private final @NotNull Instant end;
+
+    @Contract(pure = true)
+    private Interval(@NotNull Instant start, @NotNull Instant end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Creates an interval between two instants.
+     * @param startInclusive The start.
+     * @param endExclusive The end.
+     * @return The new interval.
+     * @throws DateTimeException If the end is before the start.
+     */
+    @Contract(value = "_, _ -> new", pure = true)
+    public static @NotNull Interval of(@NotNull Instant startInclusive, @NotNull Instant endExclusive) {
+        if (endExclusive.isBefore(startInclusive))
+            throw new DateTimeException("End is before start");
+        return new Interval(startInclusive, endExclusive);
+    }
+
+    /**
+     * Creates an interval of the given length.
+     * @param startInclusive The start.
+     * @param duration The length of the interval.
+     * @return The new interval.
+     * @throws DateTimeException If the duration is negative.
+     */
+    @Contract(value = "_, _ -> new", pure = true)
+    public static @NotNull Interval of(@NotNull Instant startInclusive, @NotNull Duration duration) {
+        if (duration.isNegative())
+            throw new DateTimeException("Duration is negative");
+        return new Interval(startInclusive, startInclusive.add(duration.getSeconds(), duration.getNano(), "plus"));
+    }
+
+    /**
+     * Returns the start of this interval.
+     * @return The inclusive start.
+     */
+    @Contract(pure = true)
+    public @NotNull Instant getStart() {
+        return start;
+    }
+
+    /**
+     * Returns the end of this interval.
+     * @return The exclusive end.
+     */
+    @Contract(pure = true)
+    public @NotNull Instant getEnd() {
+        return end;
+    }
+
+    /**
+     * Returns the length of this interval.
+     * @return The length.
+     */
+    @Contract(value = " -> new", pure = true)
+    public @NotNull Duration toDuration() {
+        return Duration.between(start, end);
+    }
+
+    /**
+     * Returns whether this interval is empty.
+     * @return Whether start and end are equal.
+     */
+    @Contract(pure = true)
+    public boolean isEmpty() {
+        return start.equals(end);
+    }
+
+    /**
+     * Returns whether the given instant is within this interval.
+     * @param instant The instant to check.
+     * @return Whether the instant is at or after the start and before the end.
+     */
+    @Contract(pure = true)
+    public boolean contains(@NotNull Instant instant) {
+        return !instant.isBefore(start) && instant.isBefore(end);
+    }
+
+    /**
+     * Returns whether this interval shares some part of the time-line with the given interval.
+     * <P>
+     * Intervals that only abut do not overlap.
+     *
+     * @param other The other interval.
+     * @return Whether the intervals overlap.
+     */
+    @Contract(pure = true)
+    public boolean overlaps(@NotNull Interval other) {
+        return start.isBefore(other.end) && other.start.isBefore(end);
+    }
+
+    /**
+     * Returns the part of the time-line shared by this and the given interval.
+     * @param other The other interval.
+     * @return The intersection or {@code null} if the intervals do not overlap.
+     */
+    @Contract(pure = true)
+    public @Nullable Interval intersection(@NotNull Interval other) {
+        if (!overlaps(other))
+            return null;
+
+        return new Interval(start.isAfter(other.start) ? start : other.start, end.isBefore(other.end) ? end : other.end);
+    }
+
+    /**
+     * Returns the interval between this and the given interval.
+     * <P>
+     * If the intervals abut the result is an empty interval.
+     *
+     * @param other The other interval.
+     * @return The gap or {@code null} if the intervals overlap.
+     */
+    @Contract(pure = true)
+    public @Nullable Interval gap(@NotNull Interval other) {
+        if (overlaps(other))
+            return null;
+
+        if (end.isAfter(other.start)) {
+            return new Interval(other.end, start);
+        } else {
+            return new Interval(end, other.start);
+        }
+    }
+
+    @Contract(value = "null -> false", pure = true)
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final @NotNull Interval interval = (Interval) o;
+        return start.equals(interval.start) && end.equals(interval.end);
+    }
+
+    @Override
+    @Contract(pure = true)
+    public int hashCode() {
+        return Objects.hash(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return start + "/" + end;
+    }
+}
@@ -0,0 +1,378 @@
+/*
+ * Copyright (c) 2021 nacamar GmbH - Ybrid®, a Hybrid Dynamic Live Audio Technology
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package java.time;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * This class implements an immutable index of {@link Interval Intervals} for stabbing and overlap queries.
+ * <P>
+ * The intervals are stored in primitive arrays as a static centered interval tree. Each node holds the intervals
+ * containing its center, once sorted by their start and once by their end, so a query only visits the nodes on one
+ * path and stops scanning a node at the first interval that does not match. For overlap queries the intervals
+ * starting within the window are found by binary search in an array sorted by start. Queries run in
+ * O(log n + k) for k matches and do not allocate. Values are visited in no particular order.
+ *
+ * @param <T> The type of the values associated with the intervals.
+ */
+public final class IntervalIndex<T> {
+    private final int size;
+    private final long @NotNull [] startSeconds;
+    private final int @NotNull [] startNanos;
+    private final long @NotNull [] endSeconds;
+    private final int @NotNull [] endNanos;
+    private final @NotNull Object @NotNull [] values;
+
+    private final int root;
+    private int nodes = 0;
+    private int filled = 0;
+    private final long @NotNull [] centerSeconds;
+    private final int @NotNull [] centerNanos;
+    private final int @NotNull [] left;
+    private final int @NotNull [] right;
+    private final int @NotNull [] from;
+    private final int @NotNull [] to;
+    private final int @NotNull [] byStart;
+    private final int @NotNull [] byEnd;
+
+    private IntervalIndex(@NotNull Builder<T> builder) {
+        final int @NotNull [] permutation;
+        final int @NotNull [] items;
+        int count = 0;
+
+        size = builder.size;
+        startSeconds = Arrays.copyOf(builder.startSeconds, size);
+        startNanos = Arrays.copyOf(builder.startNanos, size);
+        endSeconds = new long[size];
+        endNanos = new int[size];
+        values = new Object[size];
+
+        permutation = new int[size];
+        for (int i = 0; i < size; i++)
+            permutation[i] = i;
+
+        TimestampSort.sort(startSeconds, startNanos, permutation);
+
+        for (int i = 0; i < size; i++) {
+            endSeconds[i] = builder.endSeconds[permutation[i]];
+            endNanos[i] = builder.endNanos[permutation[i]];
+            values[i] = builder.values[permutation[i]];
+        }
+
+        // Empty intervals contain no instant, so they are only found by the search for starts within a window.
+        items = new int[size];
+        for (int i = 0; i < size; i++) {
+            if (PrivateUtils.compare(startSeconds[i], startNanos[i], endSeconds[i], endNanos[i]) < 0)
+                items[count++] = i;
+        }
+
+        centerSeconds = new long[count];
+        centerNanos = new int[count];
+        left = new int[count];
+        right = new int[count];
+        from = new int[count];
+        to = new int[count];
+        byStart = new int[count];
+        byEnd = new int[count];
+
+        root = build(items, count);
+    }
+
+    /**
+     * Creates a new builder.
+     * @param <T> The type of the values associated with the intervals.
+     * @return The new builder.
+     */
+    @Contract(value = " -> new", pure = true)
+    public static <T> @NotNull Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Builds the subtree for the given non-empty intervals, which are in order of their start.
+     * <P>
+     * The center is the median of the starts and last contained instants, so at most half of the intervals lie
+     * entirely before or entirely after it and the tree has a depth of O(log n).
+     *
+     * @return The index of the root of the subtree or {@code -1} if there are no intervals.
+     */
+    private int build(int @NotNull [] items, int count) {
+        final long @NotNull [] pointSeconds;
+        final int @NotNull [] pointNanos;
+        final int @NotNull [] before;
+        final int @NotNull [] after;
+        final long cS;
+        final int cNs;
+        final int node;
+        int beforeCount = 0;
+        int afterCount = 0;
+
+        if (count == 0)
+            return -1;
+
+        pointSeconds = new long[count * 2];
+        pointNanos = new int[count * 2];
+        for (int i = 0; i < count; i++) {
+            final int item = items[i];
+
+            pointSeconds[i * 2] = startSeconds[item];
+            pointNanos[i * 2] = startNanos[item];
+            if (endNanos[item] == 0) {
+                pointSeconds[i * 2 + 1] = endSeconds[item] - 1;
+                pointNanos[i * 2 + 1] = (int) PrivateUtils.NS_PER_S - 1;
+            } else {
+                pointSeconds[i * 2 + 1] = endSeconds[item];
+                pointNanos[i * 2 + 1] = endNanos[item] - 1;
+            }
+        }
+
+        TimestampSort.sort(pointSeconds, pointNanos, null);
+        cS = pointSeconds[count - 1];
+        cNs = pointNanos[count - 1];
+
+        node = nodes++;
+        centerSeconds[node] = cS;
+        centerNanos[node] = cNs;
+        from[node] = filled;
+
+        before = new int[count];
+        after = new int[count];
+        for (int i = 0; i < count; i++) {
+            final int item = items[i];
+
+            if (PrivateUtils.compare(endSeconds[item], endNanos[item], cS, cNs) <= 0)
+                before[beforeCount++] = item;
+            else if (PrivateUtils.compare(startSeconds[item], startNanos[item], cS, cNs) > 0)
+                after[afterCount++] = item;
+            else
+                byStart[filled++] = item;
+        }
+
+        to[node] = filled;
+        sortByEnd(from[node], to[node]);
+
+        left[node] = build(before, beforeCount);
+        right[node] = build(after, afterCount);
+
+        return node;
+    }
+
+    /**
+     * Fills the given range of {@link #byEnd} with the intervals of {@link #byStart} in descending order of their end.
+     */
+    private void sortByEnd(int lo, int hi) {
+        final int length = hi - lo;
+        final long @NotNull [] keySeconds = new long[length];
+        final int @NotNull [] keyNanos = new int[length];
+        final int @NotNull [] permutation = new int[length];
+
+        for (int i = 0; i < length; i++) {
+            keySeconds[i] = endSeconds[byStart[lo + i]];
+            keyNanos[i] = endNanos[byStart[lo + i]];
+            permutation[i] = byStart[lo + i];
+        }
+
+        TimestampSort.sort(keySeconds, keyNanos, permutation);
+
+        for (int i = 0; i < length; i++)
+            byEnd[hi - 1 - i] = permutation[i];
+    }
+
+    /**
+     * Returns the number of intervals in this index.
+     * @return The number of intervals.
+     */
+    @Contract(pure = true)
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Visits all values whose interval contains the given instant.
+     * @param instant The instant to query.
+     * @param action The action to call for each value.
+     */
+    public void forEachContaining(@NotNull Instant instant, @NotNull Consumer<? super T> action) {
+        forEachContaining(instant.seconds, instant.getNano(), action);
+    }
+
+    /**
+     * Visits all values whose interval contains the given instant.
+     * @param epochSecond The seconds of the instant as defined by {@link java.time.temporal.ChronoField#INSTANT_SECONDS}.
+     * @param nano The nanoseconds of the instant as defined by {@link java.time.temporal.ChronoField#NANO_OF_SECOND}.
+     * @param action The action to call for each value.
+     */
+    public void forEachContaining(long epochSecond, int nano, @NotNull Consumer<? super T> action) {
+        containing(epochSecond, nano, false, action);
+    }
+
+    /**
+     * Visits all values whose interval overlaps the given interval.
+     * @param window The interval to query.
+     * @param action The action to call for each value.
+     * @see Interval#overlaps(Interval)
+     */
+    public void forEachOverlapping(@NotNull Interval window, @NotNull Consumer<? super T> action) {
+        final @NotNull Instant start = window.getStart();
+        final @NotNull Instant end = window.getEnd();
+        forEachOverlapping(start.seconds, start.getNano(), end.seconds, end.getNano(), action);
+    }
+
+    /**
+     * Visits all values whose interval overlaps the given interval.
+     * @param startEpochSecond The seconds of the inclusive start.
+     * @param startNano The nanoseconds of the inclusive start.
+     * @param endEpochSecond The seconds of the exclusive end.
+     * @param endNano The nanoseconds of the exclusive end.
+     * @param action The action to call for each value.
+     * @throws DateTimeException If the end is before the start.
+     * @see Interval#overlaps(Interval)
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachOverlapping(long startEpochSecond, int startNano, long endEpochSecond, int endNano, @NotNull Consumer<? super T> action) {
+        final int order = PrivateUtils.compare(startEpochSecond, startNano, endEpochSecond, endNano);
+        int lo = 0;
+        int hi = size;
+
+        if (order > 0)
+            throw new DateTimeException("End is before start");
+
+        // An interval overlaps an empty window if it contains the window and starts before it.
+        if (order == 0) {
+            containing(startEpochSecond, startNano, true, action);
+            return;
+        }
+
+        // Otherwise it either contains the start of the window or starts within the window after it.
+        containing(startEpochSecond, startNano, false, action);
+
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+
+            if (PrivateUtils.compare(startSeconds[mid], startNanos[mid], startEpochSecond, startNano) <= 0)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+
+        for (int i = lo; i < size && PrivateUtils.compare(startSeconds[i], startNanos[i], endEpochSecond, endNano) < 0; i++)
+            action.accept((T) values[i]);
+    }
+
+    /**
+     * Visits all values whose interval contains the given instant, and optionally only those starting before it.
+     */
+    @SuppressWarnings("unchecked")
+    private void containing(long s, int ns, boolean startsBefore, @NotNull Consumer<? super T> action) {
+        final int limit = startsBefore ? 0 : 1;
+        int node = root;
+
+        while (node >= 0) {
+            final int order = PrivateUtils.compare(s, ns, centerSeconds[node], centerNanos[node]);
+
+            if (order < 0 || (order == 0 && startsBefore)) {
+                // All intervals of the node end after the instant.
+                for (int i = from[node]; i < to[node]; i++) {
+                    final int item = byStart[i];
+
+                    if (PrivateUtils.compare(startSeconds[item], startNanos[item], s, ns) >= limit)
+                        break;
+                    action.accept((T) values[item]);
+                }
+                node = order < 0 ? left[node] : -1;
+            } else {
+                // All intervals of the node start at or before the instant.
+                for (int i = from[node]; i < to[node]; i++) {
+                    final int item = byEnd[i];
+
+                    if (PrivateUtils.compare(endSeconds[item], endNanos[item], s, ns) <= 0)
+                        break;
+                    action.accept((T) values[item]);
+                }
+                node = order > 0 ? right[node] : -1;
+            }
+        }
+    }
+
+    /**
+     * This class is used to collect the intervals of an {@link IntervalIndex}.
+     * @param <T> The type of the values associated with the intervals.
+     */
+    public static final class Builder<T> {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private int size = 0;
+        private long @NotNull [] startSeconds = new long[INITIAL_CAPACITY];
+        private int @NotNull [] startNanos = new int[INITIAL_CAPACITY];
+        private long @NotNull [] endSeconds = new long[INITIAL_CAPACITY];
+        private int @NotNull [] endNanos = new int[INITIAL_CAPACITY];
+        private @NotNull Object @NotNull [] values = new Object[INITIAL_CAPACITY];
+
+        private Builder() {
+        }
+
+        /**
+         * Adds an interval.
+         * @param interval The interval to add.
+         * @param value The value associated with the interval.
+         * @return This builder.
+         */
+        @Contract("_, _ -> this")
+        public @NotNull Builder<T> add(@NotNull Interval interval, T value) {
+            final @NotNull Instant start = interval.getStart();
+            final @NotNull Instant end = interval.getEnd();
+
+            if (size == values.length) {
+                final int capacity = size * 2;
+                startSeconds = Arrays.copyOf(startSeconds, capacity);
+                startNanos = Arrays.copyOf(startNanos, capacity);
+                endSeconds = Arrays.copyOf(endSeconds, capacity);
+                endNanos = Arrays.copyOf(endNanos, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+
+            startSeconds[size] = start.seconds;
+            startNanos[size] = start.getNano();
+            endSeconds[size] = end.seconds;
+            endNanos[size] = end.getNano();
+            values[size] = value;
+            size++;
+
+            //noinspection ReturnOfThis
+            return this;
+        }
+
+        /**
+         * Builds the index from the intervals added so far.
+         * @return The new index.
+         */
+        @Contract(value = " -> new", pure = true)
+        public @NotNull IntervalIndex<T> build() {
+            return new IntervalIndex<>(this);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2021 nacamar GmbH - Ybrid®, a Hybrid Dynamic Live Audio Technology
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package java.time;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class implements a {@link Clock} that returns strictly increasing instants.
+ * <P>
+ * The time is read from another clock using {@link Clock#instant()}. The last returned time is kept in [ns] since
+ * the epoch in a single {@code long} that is updated using compare-and-set. If the other clock returns the same
+ * or an earlier time, the last returned time plus one nanosecond is returned instead. This makes instants returned
+ * by this clock unique and ordered across all threads, even while the wall clock is adjusted backwards.
+ * <P>
+ * How often and by how much the time had to be corrected is counted for diagnostics. All methods are lock-free.
+ * Clocks returned by {@link #withZone(ZoneId)} share their state with this clock.
+ */
+public final class MonotonicClock extends Clock {
+    private final @NotNull Clock clock;
+    private final @NotNull State state;
+
+    private static final class State {
+        private final @NotNull AtomicLong last = new AtomicLong(Long.MIN_VALUE);
+        private final @NotNull AtomicLong corrections = new AtomicLong();
+        private final @NotNull AtomicLong totalCorrectionNanos = new AtomicLong();
+        private final @NotNull AtomicLong maxCorrectionNanos = new AtomicLong();
+    }
+
+    /**
+     * Creates a new clock.
+     * @param clock The clock to read the time from.
+     */
+    public MonotonicClock(@NotNull Clock clock) {
+        this(clock, new State());
+    }
+
+    private MonotonicClock(@NotNull Clock clock, @NotNull State state) {
+        this.clock = clock;
+        this.state = state;
+    }
+
+    @Override
+    public @NotNull ZoneId getZone() {
+        return clock.getZone();
+    }
+
+    @Override
+    public @NotNull Clock withZone(@NotNull ZoneId zone) {
+        return new MonotonicClock(clock.withZone(zone), state);
+    }
+
+    /**
+     * Returns the current time, which is later than all times returned before.
+     * @return The time in [ns] since the epoch.
+     */
+    public long nanos() {
+        final @NotNull Instant instant = clock.instant();
+        final long now = PrivateUtils.toNanos(instant.seconds, instant.nanoseconds);
+
+        while (true) {
+            final long last = state.last.get();
+            final long next = now > last ? now : PrivateUtils.increment(last);
+
+            if (state.last.compareAndSet(last, next)) {
+                if (next != now)
+                    recordCorrection(next - now);
+                return next;
+            }
+        }
+    }
+
+    private void recordCorrection(long nanos) {
+        state.corrections.incrementAndGet();
+        state.totalCorrectionNanos.addAndGet(nanos);
+
+        while (true) {
+            final long max = state.maxCorrectionNanos.get();
+
+            if (nanos <= max || state.maxCorrectionNanos.compareAndSet(max, nanos))
+                return;
+        }
+    }
+
+    @Override
+    public @NotNull Instant instant() {
+        return Instant.ofEpochNano(nanos());
+    }
+
+    @Override
+    public long millis() {
+        return PrivateUtils.floorDiv(nanos(), PrivateUtils.MS_PER_NS);
+    }
+
+    /**
+     * Returns how often the time of the other clock had to be corrected.
+     * @return The number of corrections.
+     */
+    @Contract(pure = true)
+    public long getCorrectionCount() {
+        return state.corrections.get();
+    }
+
+    /**
+     * Returns the sum of all corrections.
+     * @return The sum in [ns].
+     */
+    @Contract(pure = true)
+    public long getTotalCorrectionNanos() {
+        return state.totalCorrectionNanos.get();
+    }
+
+    /**
+     * Returns the largest single correction.
+     * @return The correction in [ns].
+     */
+    @Contract(pure = true)
+    public long getMaxCorrectionNanos() {
+        return state.maxCorrectionNanos.get();
+    }
+
+    /**
+     * Resets the correction statistics. The last returned time is kept.
+     */
+    public void resetStatistics() {
+        state.corrections.set(0);
+        state.totalCorrectionNanos.set(0);
+        state.maxCorrectionNanos.set(0);
+    }
+}
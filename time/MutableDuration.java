@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2021 nacamar GmbH - Ybrid®, a Hybrid Dynamic Live Audio Technology
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package java.time;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This class is a mutable counterpart of {@link Duration}.
+ * <P>
+ * It allows doing time calculations on preallocated objects, such as in a real-time audio thread.
+ * All operations change this object in place and return it. Normalisation and overflow handling are the same
+ * as for {@link Duration}. Use {@link #toDuration()} to get an immutable copy.
+ * <P>
+ * This class is not thread safe. As it is mutable, {@link #equals(Object)} and {@link #hashCode()} are not
+ * based on the value.
+ */
+public final class MutableDuration extends PrivateUtils.MutableSecondsNanosecondsBaseClass<MutableDuration> {
+    /**
+     * Creates a new object set to {@link Duration#ZERO}.
+     */
+    public MutableDuration() {
+    }
+
+    /**
+     * Creates a new object set to the given duration.
+     * @param duration The duration.
+     */
+    public MutableDuration(@NotNull Duration duration) {
+        setTo(duration);
+    }
+
+    /**
+     * Sets this to the given duration.
+     * @param duration The duration.
+     * @return This object.
+     */
+    @Contract("_ -> this")
+    public @NotNull MutableDuration setTo(@NotNull Duration duration) {
+        seconds = duration.seconds;
+        nanoseconds = duration.nanoseconds;
+        //noinspection ReturnOfThis
+        return this;
+    }
+
+    /**
+     * Sets this to the given duration.
+     * @param duration The duration.
+     * @return This object.
+     */
+    @Contract("_ -> this")
+    public @NotNull MutableDuration setTo(@NotNull MutableDuration duration) {
+        seconds = duration.seconds;
+        nanoseconds = duration.nanoseconds;
+        //noinspection ReturnOfThis
+        return this;
+    }
+
+    /**
+     * Sets this to the given time.
+     * @param seconds The time in [s].
+     * @param nanoAdjustment The adjustment in [ns].
+     * @return This object.
+     */
+    @Contract("_, _ -> this")
+    public @NotNull MutableDuration setTo(@SuppressWarnings("ParameterHidesMemberVariable") long seconds, long nanoAdjustment) {
+        return set(seconds, nanoAdjustment);
+    }
+
+    /**
+     * Sets this to the given number of audio samples.
+     * @param samples The number of samples, or the position in samples.
+     * @param sampleRate The sample rate in [Hz].
+     * @return This object.
+     * @see Duration#ofSamples(long, int)
+     */
+    @Contract("_, _ -> this")
+    public @NotNull MutableDuration setToSamples(long samples, int sampleRate) {
+        PrivateUtils.checkSampleRate(sampleRate);
+        return set(PrivateUtils.floorDiv(samples, sampleRate), PrivateUtils.samplesToNanos(PrivateUtils.floorMod(samples, sampleRate), sampleRate));
+    }
+
+    /**
+     * Sets this to the time between two instants.
+     * @param startInclusive The start.
+     * @param endExclusive The end.
+     * @return This object.
+     */
+    @Contract("_, _ -> this")
+    public @NotNull MutableDuration setToBetween(@NotNull Instant startInclusive, @NotNull Instant endExclusive) {
+        return set(PrivateUtils.subtract(endExclusive.seconds, startInclusive.seconds), endExclusive.nanoseconds - startInclusive.nanoseconds);
+    }
+
+    /**
+     * Sets this to the time between two instants.
+     * @param startInclusive The start.
+     * @param endExclusive The end.
+     * @return This object.
+     */
+    @Contract("_, _ -> this")
+    public @NotNull MutableDuration setToBetween(@NotNull MutableInstant startInclusive, @NotNull MutableInstant endExclusive) {
+        return set(PrivateUtils.subtract(endExclusive.seconds, startInclusive.seconds), endExclusive.nanoseconds - startInclusive.nanoseconds);
+    }
+
+    /**
+     * Negates this duration.
+     * @return This object.
+     */
+    @Contract("-> this")
+    public @NotNull MutableDuration negate() {
+        if (nanoseconds == 0)
+            return set(PrivateUtils.negate(seconds), 0);
+        return set(-1 - seconds, PrivateUtils.NS_PER_S - nanoseconds);
+    }
+
+    /**
+     * Returns the length of this duration in seconds.
+     * @return The length.
+     */
+    @Contract(pure = true)
+    public long getSeconds() {
+        return seconds;
+    }
+
+    /**
+     * Returns whether this duration is negative.
+     * @return Whether this duration is negative.
+     */
+    @Contract(pure = true)
+    public boolean isNegative() {
+        return seconds < 0;
+    }
+
+    /**
+     * Returns whether this duration is zero.
+     * @return Whether this duration is zero.
+     */
+    @Contract(pure = true)
+    public boolean isZero() {
+        return seconds == 0 && nanoseconds == 0;
+    }
+
+    /**
+     * Returns the duration in [ms].
+     * @return The duration in [ms].
+     */
+    @Contract(pure = true)
+    public long toMillis() {
+        return PrivateUtils.toUnits(seconds, nanoseconds / PrivateUtils.MS_PER_NS, PrivateUtils.MS_PER_S);
+    }
+
+    /**
+     * Returns the duration in [ns].
+     * @return The duration in [ns].
+     */
+    @Contract(pure = true)
+    public long toNanos() {
+        return PrivateUtils.toNanos(seconds, nanoseconds);
+    }
+
+    /**
+     * Returns the duration in audio samples, rounded to the nearest sample with halves towards positive infinity.
+     * @param sampleRate The sample rate in [Hz].
+     * @return The number of samples.
+     * @see Duration#toSamples(int)
+     */
+    @Contract(pure = true)
+    public long toSamples(int sampleRate) {
+        return PrivateUtils.toSamples(seconds, nanoseconds, sampleRate);
+    }
+
+    /**
+     * Compares this to a duration.
+     * @param other The duration to compare with.
+     * @return A negative value, zero, or a positive value if this is shorter, equal, or longer than the given duration.
+     */
+    @Contract(pure = true)
+    public int compareTo(@NotNull Duration other) {
+        return compareTo(other.seconds, other.nanoseconds);
+    }
+
+    /**
+     * Compares this to a duration.
+     * @param other The duration to compare with.
+     * @return A negative value, zero, or a positive value if this is shorter, equal, or longer than the given duration.
+     */
+    @Contract(pure = true)
+    public int compareTo(@NotNull MutableDuration other) {
+        return compareTo(other.seconds, other.nanoseconds);
+    }
+
+    /**
+     * Returns an immutable copy of this.
+     * @return The new duration.
+     */
+    @Contract(value = " -> new", pure = true)
+    public @NotNull Duration toDuration() {
+        return Duration.ofSeconds(seconds, nanoseconds);
+    }
+}
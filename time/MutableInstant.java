@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2021 nacamar GmbH - Ybrid®, a Hybrid Dynamic Live Audio Technology
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package java.time;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.temporal.ChronoField;
+
+/**
+ * This class is a mutable counterpart of {@link Instant}.
+ * <P>
+ * It allows doing time calculations on preallocated objects, such as in a real-time audio thread.
+ * All operations change this object in place and return it. Normalisation and overflow handling are the same
+ * as for {@link Instant}. Use {@link #toInstant()} to get an immutable copy.
+ * <P>
+ * This class is not thread safe. As it is mutable, {@link #equals(Object)} and {@link #hashCode()} are not
+ * based on the value.
+ */
+public final class MutableInstant extends PrivateUtils.MutableSecondsNanosecondsBaseClass<MutableInstant> {
+    /**
+     * Creates a new object set to {@link Instant#EPOCH}.
+     */
+    public MutableInstant() {
+    }
+
+    /**
+     * Creates a new object set to the given instant.
+     * @param instant The instant.
+     */
+    public MutableInstant(@NotNull Instant instant) {
+        setTo(instant);
+    }
+
+    /**
+     * Sets this to the given instant.
+     * @param instant The instant.
+     * @return This object.
+     */
+    @Contract("_ -> this")
+    public @NotNull MutableInstant setTo(@NotNull Instant instant) {
+        seconds = instant.seconds;
+        nanoseconds = instant.nanoseconds;
+        //noinspection ReturnOfThis
+        return this;
+    }
+
+    /**
+     * Sets this to the given instant.
+     * @param instant The instant.
+     * @return This object.
+     */
+    @Contract("_ -> this")
+    public @NotNull MutableInstant setTo(@NotNull MutableInstant instant) {
+        seconds = instant.seconds;
+        nanoseconds = instant.nanoseconds;
+        //noinspection ReturnOfThis
+        return this;
+    }
+
+    /**
+     * Sets this to the given time.
+     * @param epochSecond The given time as defined by {@link ChronoField#INSTANT_SECONDS}.
+     * @param nanoAdjustment An amount of nanoseconds to add to the given time.
+     * @return This object.
+     */
+    @Contract("_, _ -> this")
+    public @NotNull MutableInstant setToEpochSecond(long epochSecond, long nanoAdjustment) {
+        return set(epochSecond, nanoAdjustment);
+    }
+
+    /**
+     * Sets this to the given time.
+     * @param epochMilli The given time as [ms] since the epoch.
+     * @return This object.
+     */
+    @Contract("_ -> this")
+    public @NotNull MutableInstant setToEpochMilli(long epochMilli) {
+        return set(PrivateUtils.floorDiv(epochMilli, PrivateUtils.MS_PER_S), PrivateUtils.floorMod(epochMilli, PrivateUtils.MS_PER_S) * PrivateUtils.MS_PER_NS);
+    }
+
+    /**
+     * Sets this to the current time of the given clock.
+     * <P>
+     * The time is read using {@link Clock#millis()} so that no objects are created.
+     *
+     * @param clock The clock to use.
+     * @return This object.
+     */
+    @Contract("_ -> this")
+    public @NotNull MutableInstant setToNow(@NotNull Clock clock) {
+        return setToEpochMilli(clock.millis());
+    }
+
+    /**
+     * Gets the value of seconds since epoch as defined by {@link ChronoField#INSTANT_SECONDS}.
+     * @return The value.
+     */
+    @Contract(pure = true)
+    public long getEpochSecond() {
+        return seconds;
+    }
+
+    /**
+     * Returns the milliseconds since the epoch.
+     * @return The passed milliseconds.
+     */
+    @Contract(pure = true)
+    public long toEpochMilli() {
+        return PrivateUtils.toUnits(seconds, nanoseconds / PrivateUtils.MS_PER_NS, PrivateUtils.MS_PER_S);
+    }
+
+    /**
+     * Compares this to an instant.
+     * @param other The instant to compare with.
+     * @return A negative value, zero, or a positive value if this is before, at, or after the given instant.
+     */
+    @Contract(pure = true)
+    public int compareTo(@NotNull Instant other) {
+        return compareTo(other.seconds, other.nanoseconds);
+    }
+
+    /**
+     * Compares this to an instant.
+     * @param other The instant to compare with.
+     * @return A negative value, zero, or a positive value if this is before, at, or after the given instant.
+     */
+    @Contract(pure = true)
+    public int compareTo(@NotNull MutableInstant other) {
+        return compareTo(other.seconds, other.nanoseconds);
+    }
+
+    /**
+     * Returns whether this is after a given instant.
+     * @param other The given instant to check with.
+     * @return Whether this is after the given instant.
+     */
+    @Contract(pure = true)
+    public boolean isAfter(@NotNull Instant other) {
+        return compareTo(other) > 0;
+    }
+
+    /**
+     * Returns whether this is before a given instant.
+     * @param other The given instant to check with.
+     * @return Whether this is before the given instant.
+     */
+    @Contract(pure = true)
+    public boolean isBefore(@NotNull Instant other) {
+        return compareTo(other) < 0;
+    }
+
+    /**
+     * Returns an immutable copy of this.
+     * @return The new instant.
+     */
+    @Contract(value = " -> new", pure = true)
+    public @NotNull Instant toInstant() {
+        return Instant.ofEpochSecond(seconds, nanoseconds);
+    }
+
+    @Override
+    public String toString() {
+        return toInstant().toString();
+    }
+}
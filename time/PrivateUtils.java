@@ -60,7 +60,7 @@ final class PrivateUtils {
         return (int)value;
     }
 
-    static private @NotNull ArithmeticException longOverflow() {
+    static @NotNull ArithmeticException longOverflow() {
         return new ArithmeticException("long overflow");
     }
 
@@ -85,6 +85,22 @@ final class PrivateUtils {
         return res;
     }
 
+    @Contract(pure = true)
+    static long saturatedMul(long a, long b) {
+        final long res = a * b;
+        final long absA = Math.abs(a);
+        final long absB = Math.abs(b);
+
+        //noinspection MagicNumber
+        if (((absA | absB) >>> 31) != 0) {
+            if (((b != 0) && ((res / b) != a)) || (a == Long.MIN_VALUE && b == -1)) {
+                return ((a ^ b) < 0) ? Long.MIN_VALUE : Long.MAX_VALUE;
+            }
+        }
+
+        return res;
+    }
+
     static long add(long a, long b) throws ArithmeticException {
         final long res = a + b;
 
@@ -116,7 +132,7 @@ final class PrivateUtils {
         if (a == Long.MIN_VALUE)
             throw longOverflow();
 
-        return a + 1;
+        return a - 1;
     }
 
     static long negate(long a) {
@@ -126,9 +142,233 @@ final class PrivateUtils {
         return -a;
     }
 
+    @Contract(pure = true)
+    static long floorDiv(long a, long b) {
+        final long res = a / b;
+
+        if ((a % b != 0) && ((a ^ b) < 0))
+            return res - 1;
+
+        return res;
+    }
+
+    @Contract(pure = true)
+    static long floorMod(long a, long b) {
+        return a - floorDiv(a, b) * b;
+    }
+
+    /**
+     * Converts a normalised seconds and sub-second pair into the given unit.
+     * <P>
+     * Negative values are handled so that the full range of {@code long} is usable.
+     */
+    @Contract(pure = true)
+    static long toUnits(long s, long subUnits, long unitsPerSecond) throws ArithmeticException {
+        if (s < 0)
+            return mulAdd(s + 1, unitsPerSecond, subUnits - unitsPerSecond);
+        return mulAdd(s, unitsPerSecond, subUnits);
+    }
+
+    /**
+     * Returns whether {@link #toUnits(long, long, long)} can be called without overflow.
+     */
+    @Contract(pure = true)
+    static boolean fitsUnits(long s, long subUnits, long unitsPerSecond) {
+        final long maxS = Long.MAX_VALUE / unitsPerSecond;
+        final long minS = floorDiv(Long.MIN_VALUE, unitsPerSecond);
+
+        if (s > maxS || s < minS)
+            return false;
+        if (s == maxS)
+            return subUnits <= Long.MAX_VALUE % unitsPerSecond;
+        if (s == minS)
+            return subUnits >= floorMod(Long.MIN_VALUE, unitsPerSecond);
+
+        return true;
+    }
+
+    /**
+     * Converts a seconds and nanoseconds pair into [ns].
+     * <P>
+     * Negative values are handled so that the full range of {@code long} is usable.
+     */
+    @Contract(pure = true)
+    static long toNanos(long s, long ns) throws ArithmeticException {
+        return toUnits(s, ns, NS_PER_S);
+    }
+
+    /**
+     * Converts a normalised seconds and nanoseconds pair into [ns], clamping to the range of {@code long}.
+     */
+    @Contract(pure = true)
+    static long saturatedToNanos(long s, long ns) {
+        if (fitsUnits(s, ns, NS_PER_S))
+            return toNanos(s, ns);
+        return s < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+    }
+
+    /**
+     * Returns the seconds of a seconds and nanoseconds pair after moving full seconds out of the nanoseconds.
+     */
+    @Contract(pure = true)
+    static long normaliseSeconds(long s, long ns) throws ArithmeticException {
+        if (ns >= 0 && ns < NS_PER_S)
+            return s;
+        return add(s, floorDiv(ns, NS_PER_S));
+    }
+
+    /**
+     * Returns the nanoseconds of a seconds and nanoseconds pair after moving full seconds out of them.
+     */
+    @Contract(pure = true)
+    static int normaliseNanoseconds(long ns) {
+        if (ns >= 0 && ns < NS_PER_S)
+            return (int) ns;
+        return (int) floorMod(ns, NS_PER_S);
+    }
+
+    /**
+     * Converts a sample offset within a second into [ns], rounding half up.
+     * @param samples The samples, within {@code [0, sampleRate)}.
+     */
+    @Contract(pure = true)
+    static long samplesToNanos(long samples, int sampleRate) {
+        checkSampleRate(sampleRate);
+        // Both terms stay below 2^63 as samples < sampleRate < 2^31.
+        return (2 * samples * NS_PER_S + sampleRate) / (2L * sampleRate);
+    }
+
+    /**
+     * Converts a normalised seconds and nanoseconds pair into samples, rounding half up.
+     */
+    @Contract(pure = true)
+    static long toSamples(long s, long ns, int sampleRate) throws ArithmeticException {
+        checkSampleRate(sampleRate);
+        return toUnits(s, (2 * ns * sampleRate + NS_PER_S) / (2 * NS_PER_S), sampleRate);
+    }
+
+    static void checkSampleRate(int sampleRate) {
+        if (sampleRate <= 0)
+            throw new IllegalArgumentException("Sample rate must be positive");
+    }
+
+    static void track(@NotNull Class<?> type, @NotNull String factory) {
+        if (AllocationTracker.enabled)
+            AllocationTracker.record(type, factory);
+    }
+
+    @Contract(pure = true)
+    static int compare(long s1, long ns1, long s2, long ns2) {
+        final int res = Long.compare(s1, s2);
+
+        if (res != 0)
+            return res;
+
+        return Long.compare(ns1, ns2);
+    }
+
+    /**
+     * Returns the upper 64 bits of the 128-bit product of two signed values.
+     */
+    @Contract(pure = true)
+    static long multiplyHigh(long a, long b) {
+        final long aHigh = a >> 32;
+        final long aLow = a & 0xFFFFFFFFL;
+        final long bHigh = b >> 32;
+        final long bLow = b & 0xFFFFFFFFL;
+        final long lowLow = aLow * bLow;
+        final long t = aHigh * bLow + (lowLow >>> 32);
+        final long middle = (t & 0xFFFFFFFFL) + aLow * bHigh;
+
+        return aHigh * bHigh + (t >> 32) + (middle >> 32);
+    }
+
+    /**
+     * Returns the upper 64 bits of the 128-bit product of two unsigned values.
+     */
+    @Contract(pure = true)
+    static long unsignedMultiplyHigh(long a, long b) {
+        return multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+    }
+
+    /**
+     * Returns whether {@code a < b} when both are taken as unsigned values.
+     */
+    @Contract(pure = true)
+    static boolean unsignedLess(long a, long b) {
+        return (a ^ Long.MIN_VALUE) < (b ^ Long.MIN_VALUE);
+    }
+
+    /**
+     * Divides an unsigned 128-bit value by another one, given as upper and lower 64 bits.
+     * <P>
+     * This is a plain shift-subtract division which is only meant for slow paths. The divisor has to be below
+     * 2<sup>127</sup>.
+     *
+     * @return The unsigned quotient, rounded towards zero.
+     * @throws ArithmeticException If the quotient does not fit 64 bits or the divisor is zero.
+     */
+    @Contract(pure = true)
+    static long unsignedDivide(long high, long low, long divisorHigh, long divisorLow) throws ArithmeticException {
+        long remainderHigh = 0;
+        long remainderLow = 0;
+        long quotient = 0;
+        final int bits = high != 0 ? 128 - Long.numberOfLeadingZeros(high) : 64 - Long.numberOfLeadingZeros(low);
+
+        if (divisorHigh == 0 && divisorLow == 0)
+            throw new ArithmeticException("/ by zero");
+
+        for (int i = bits - 1; i >= 0; i--) {
+            final long bit = i >= 64 ? (high >>> (i - 64)) & 1 : (low >>> i) & 1;
+
+            remainderHigh = (remainderHigh << 1) | (remainderLow >>> 63);
+            remainderLow = (remainderLow << 1) | bit;
+
+            if (quotient < 0)
+                throw longOverflow();
+            quotient <<= 1;
+
+            if (remainderHigh != divisorHigh ? unsignedLess(divisorHigh, remainderHigh) : !unsignedLess(remainderLow, divisorLow)) {
+                remainderHigh -= divisorHigh + (unsignedLess(remainderLow, divisorLow) ? 1 : 0);
+                remainderLow -= divisorLow;
+                quotient |= 1;
+            }
+        }
+
+        return quotient;
+    }
+
+    /**
+     * Returns the upper 64 bits of a seconds and nanoseconds pair converted into a 128-bit [ns] value.
+     * @see #toNanosLow(long, long)
+     */
+    @Contract(pure = true)
+    static long toNanosHigh(long s, long ns) {
+        final long low = s * NS_PER_S;
+
+        return multiplyHigh(s, NS_PER_S) + (unsignedLess(low + ns, low) ? 1 : 0);
+    }
+
+    /**
+     * Returns the lower 64 bits of a seconds and nanoseconds pair converted into a 128-bit [ns] value.
+     * @see #toNanosHigh(long, long)
+     */
+    @Contract(pure = true)
+    static long toNanosLow(long s, long ns) {
+        return s * NS_PER_S + ns;
+    }
+
+    /**
+     * This class is the common base of {@link Instant} and {@link Duration}.
+     * <P>
+     * The nanoseconds always fit an {@code int} once normalised, so they are stored as one. On HotSpot with
+     * compressed class pointers (the default) this shrinks each object from 32 to 24 bytes, the {@code int} filling
+     * the gap after the 12-byte header. Without compressed class pointers, and on ART with its 8-byte header, the
+     * size does not change.
+     */
     static abstract class SecondsNanosecondsBaseClass<T extends SecondsNanosecondsBaseClass<T>> implements Comparable<T>, Serializable {
         protected final long seconds;
-        protected final long nanoseconds;
+        protected final int nanoseconds;
 
         @Contract(value = "_, _ -> new", pure = true)
         @ApiStatus.Internal
@@ -137,18 +377,8 @@ final class PrivateUtils {
 
         @Contract(pure = true)
         protected SecondsNanosecondsBaseClass(long seconds, long nanoseconds) {
-            while (nanoseconds < 0) {
-                seconds = decrement(seconds);
-                nanoseconds = PrivateUtils.add(nanoseconds, PrivateUtils.NS_PER_S);
-            }
-
-            while (nanoseconds >= PrivateUtils.NS_PER_S) {
-                seconds = increment(seconds);
-                nanoseconds = subtract(nanoseconds, PrivateUtils.NS_PER_S);
-            }
-
-            this.seconds = seconds;
-            this.nanoseconds = nanoseconds;
+            this.seconds = normaliseSeconds(seconds, nanoseconds);
+            this.nanoseconds = normaliseNanoseconds(nanoseconds);
         }
 
         @Contract(value = "null -> false", pure = true)
@@ -165,9 +395,60 @@ final class PrivateUtils {
             return Objects.hash(getClass(), seconds, nanoseconds);
         }
 
-        @Contract(pure = true, value = "_, _ -> new")
-        @NotNull T add(long s, long ns) {
-            return newInstance(PrivateUtils.add(seconds, s), PrivateUtils.add(nanoseconds, ns));
+        @Contract(value = "_, _, _ -> new", pure = true)
+        final @NotNull T newInstance(long s, long ns, @NotNull String factory) {
+            track(getClass(), factory);
+            return newInstance(s, ns);
+        }
+
+        @Contract(pure = true, value = "_, _, _ -> new")
+        @NotNull T add(long s, long ns, @NotNull String factory) {
+            return newInstance(PrivateUtils.add(seconds, s), PrivateUtils.add(nanoseconds, ns), factory);
+        }
+
+        /**
+         * Adds a normalised amount, clamping the result to the given bounds instead of overflowing.
+         * The bounds are returned as they are if the result is clamped.
+         */
+        @Contract(pure = true)
+        @NotNull T saturatedAdd(long s, long ns, @NotNull T min, @NotNull T max, @NotNull String factory) {
+            long baseS = seconds;
+            long addS = s;
+            long resNs = nanoseconds + ns;
+            final long resS;
+
+            // Apply the carry before the seconds are added, as it can bring a sum back into range.
+            if (resNs >= NS_PER_S) {
+                resNs -= NS_PER_S;
+                if (addS != Long.MAX_VALUE)
+                    addS++;
+                else if (baseS != Long.MAX_VALUE)
+                    baseS++;
+                else
+                    return max;
+            }
+
+            resS = baseS + addS;
+            if (((baseS ^ resS) & (addS ^ resS)) < 0)
+                return s < 0 ? min : max;
+            if (compare(resS, resNs, min.seconds, min.nanoseconds) < 0)
+                return min;
+            if (compare(resS, resNs, max.seconds, max.nanoseconds) > 0)
+                return max;
+
+            return newInstance(resS, resNs, factory);
+        }
+
+        /**
+         * Subtracts a normalised amount, clamping the result to the given bounds instead of overflowing.
+         */
+        @Contract(pure = true)
+        @NotNull T saturatedSubtract(long s, long ns, @NotNull T min, @NotNull T max, @NotNull String factory) {
+            if (ns != 0)
+                return saturatedAdd(-s - 1, NS_PER_S - ns, min, max, factory);
+            if (s == Long.MIN_VALUE)
+                return saturatedAdd(Long.MAX_VALUE, 0, min, max, factory).saturatedAdd(1, 0, min, max, factory);
+            return saturatedAdd(-s, 0, min, max, factory);
         }
 
         @Contract(value = "_ -> new", pure = true)
@@ -177,11 +458,11 @@ final class PrivateUtils {
 
             switch ((ChronoUnit)unit) {
                 case NANOS:
-                    return add(0, amountToAdd);
+                    return add(0, amountToAdd, "plus");
                 case MILLIS:
-                    return add(0, mul(amountToAdd, MS_PER_NS));
+                    return add(0, mul(amountToAdd, MS_PER_NS), "plus");
                 case SECONDS:
-                    return add(amountToAdd, 0);
+                    return add(amountToAdd, 0, "plus");
             }
 
             throw new IllegalArgumentException();
@@ -199,7 +480,7 @@ final class PrivateUtils {
          */
         @Contract(value = "_ -> new", pure = true)
         public @NotNull T plusMillis(long millisToAdd) {
-            return add(0, mul(millisToAdd, MS_PER_NS));
+            return add(0, mul(millisToAdd, MS_PER_NS), "plusMillis");
         }
 
         /**
@@ -209,7 +490,7 @@ final class PrivateUtils {
          */
         @Contract(value = "_ -> new", pure = true)
         public @NotNull T plusNanos(long nanosToAdd) {
-            return add(0, nanosToAdd);
+            return add(0, nanosToAdd, "plusNanos");
         }
 
         /**
@@ -219,7 +500,7 @@ final class PrivateUtils {
          */
         @Contract(value = "_ -> new", pure = true)
         public @NotNull T plusSeconds(long secondsToAdd) {
-            return add(secondsToAdd, 0);
+            return add(secondsToAdd, 0, "plusSeconds");
         }
 
         /**
@@ -229,7 +510,7 @@ final class PrivateUtils {
          */
         @Contract(value = "_ -> new", pure = true)
         public @NotNull T minusMillis(long millisToSubtract) {
-            return add(0, mul(millisToSubtract, -MS_PER_NS));
+            return add(0, mul(millisToSubtract, -MS_PER_NS), "minusMillis");
         }
 
         /**
@@ -239,7 +520,7 @@ final class PrivateUtils {
          */
         @Contract(value = "_ -> new", pure = true)
         public @NotNull T minusNanos(long nanosToSubtract) {
-            return add(0, negate(nanosToSubtract));
+            return add(0, negate(nanosToSubtract), "minusNanos");
         }
 
         /**
@@ -249,7 +530,7 @@ final class PrivateUtils {
          */
         @Contract(value = "_ -> new", pure = true)
         public @NotNull T minusSeconds(long secondsToSubtract) {
-            return add(negate(secondsToSubtract), 0);
+            return add(negate(secondsToSubtract), 0, "minusSeconds");
         }
 
         /**
@@ -258,16 +539,16 @@ final class PrivateUtils {
          */
         @Contract(pure = true)
         public int getNano() {
-            return toInteger(nanoseconds);
+            return nanoseconds;
         }
 
         long to(@NotNull TemporalUnit unit) {
             if (unit instanceof ChronoUnit) {
                 switch ((ChronoUnit) unit) {
                     case NANOS:
-                        return PrivateUtils.mulAdd(seconds, PrivateUtils.NS_PER_S, nanoseconds);
+                        return toNanos(seconds, nanoseconds);
                     case MILLIS:
-                        return PrivateUtils.mulAdd(seconds, PrivateUtils.MS_PER_S, nanoseconds / PrivateUtils.MS_PER_NS);
+                        return toUnits(seconds, nanoseconds / MS_PER_NS, MS_PER_S);
                     case SECONDS:
                         return seconds;
                 }
@@ -276,4 +557,145 @@ final class PrivateUtils {
             throw unsupportedTemporalUnit(unit);
         }
     }
+
+    /**
+     * This class is the mutable counterpart of {@link SecondsNanosecondsBaseClass}.
+     * <P>
+     * Values are normalised the same way and overflows throw the same exceptions. The state is only changed
+     * if the operation succeeds.
+     */
+    static abstract class MutableSecondsNanosecondsBaseClass<T extends MutableSecondsNanosecondsBaseClass<T>> {
+        protected long seconds = 0;
+        protected int nanoseconds = 0;
+
+        @Contract(value = "_, _ -> this")
+        @SuppressWarnings("unchecked")
+        final @NotNull T set(long s, long ns) {
+            final long newSeconds = normaliseSeconds(s, ns);
+
+            seconds = newSeconds;
+            nanoseconds = normaliseNanoseconds(ns);
+
+            return (T) this;
+        }
+
+        @Contract(value = "_, _ -> this")
+        final @NotNull T add(long s, long ns) {
+            return set(PrivateUtils.add(seconds, s), PrivateUtils.add(nanoseconds, ns));
+        }
+
+        @Contract(pure = true)
+        final int compareTo(long s, long ns) {
+            return compare(seconds, nanoseconds, s, ns);
+        }
+
+        /**
+         * Adds the given amount of time.
+         * @param millisToAdd The amount to add in [ms].
+         * @return This object.
+         */
+        @Contract(value = "_ -> this")
+        public @NotNull T plusMillis(long millisToAdd) {
+            return add(0, mul(millisToAdd, MS_PER_NS));
+        }
+
+        /**
+         * Adds the given amount of time.
+         * @param nanosToAdd The amount to add in [ns].
+         * @return This object.
+         */
+        @Contract(value = "_ -> this")
+        public @NotNull T plusNanos(long nanosToAdd) {
+            return add(0, nanosToAdd);
+        }
+
+        /**
+         * Adds the given amount of time.
+         * @param secondsToAdd The amount to add in [s].
+         * @return This object.
+         */
+        @Contract(value = "_ -> this")
+        public @NotNull T plusSeconds(long secondsToAdd) {
+            return add(secondsToAdd, 0);
+        }
+
+        /**
+         * Subtracts the given amount of time.
+         * @param millisToSubtract The amount to subtract in [ms].
+         * @return This object.
+         */
+        @Contract(value = "_ -> this")
+        public @NotNull T minusMillis(long millisToSubtract) {
+            return add(0, mul(millisToSubtract, -MS_PER_NS));
+        }
+
+        /**
+         * Subtracts the given amount of time.
+         * @param nanosToSubtract The amount to subtract in [ns].
+         * @return This object.
+         */
+        @Contract(value = "_ -> this")
+        public @NotNull T minusNanos(long nanosToSubtract) {
+            return add(0, negate(nanosToSubtract));
+        }
+
+        /**
+         * Subtracts the given amount of time.
+         * @param secondsToSubtract The amount to subtract in [s].
+         * @return This object.
+         */
+        @Contract(value = "_ -> this")
+        public @NotNull T minusSeconds(long secondsToSubtract) {
+            return add(negate(secondsToSubtract), 0);
+        }
+
+        /**
+         * Adds the given duration.
+         * @param duration The duration to add.
+         * @return This object.
+         */
+        @Contract(value = "_ -> this")
+        public @NotNull T plus(@NotNull Duration duration) {
+            return add(duration.seconds, duration.nanoseconds);
+        }
+
+        /**
+         * Adds the given duration.
+         * @param duration The duration to add.
+         * @return This object.
+         */
+        @Contract(value = "_ -> this")
+        public @NotNull T plus(@NotNull MutableDuration duration) {
+            return add(duration.seconds, duration.nanoseconds);
+        }
+
+        /**
+         * Subtracts the given duration.
+         * @param duration The duration to subtract.
+         * @return This object.
+         */
+        @Contract(value = "_ -> this")
+        public @NotNull T minus(@NotNull Duration duration) {
+            return add(negate(duration.seconds), negate(duration.nanoseconds));
+        }
+
+        /**
+         * Subtracts the given duration.
+         * @param duration The duration to subtract.
+         * @return This object.
+         */
+        @Contract(value = "_ -> this")
+        public @NotNull T minus(@NotNull MutableDuration duration) {
+            return add(negate(duration.seconds), negate(duration.nanoseconds));
+        }
+
+        /**
+         * Gets the value of nanoseconds since full second as defined by {@link ChronoField#NANO_OF_SECOND}.
+         * @return The value.
+         */
+        @Contract(pure = true)
+        public int getNano() {
+            return nanoseconds;
+        }
+    }
 }
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2021 nacamar GmbH - Ybrid®, a Hybrid Dynamic Live Audio Technology
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package java.time;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class implements a lock-free token bucket rate limiter.
+ * <P>
+ * The bucket holds up to a given number of tokens and is refilled completely within the refill period.
+ * The state is kept as the theoretical time at which the bucket is full again, stored in a single {@code long}
+ * that is updated using compare-and-set. Acquiring tokens or querying the state does not allocate.
+ * <P>
+ * The time is read from the given {@link Clock} using {@link Clock#instant()} with nanosecond precision, so that
+ * the limiter can be driven by a fixed or manually advanced clock. The clock has to stay within about 292 years
+ * of the epoch.
+ */
+public final class RateLimiter {
+    private final @NotNull Clock clock;
+    private final long capacity;
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final @NotNull AtomicLong fullAt = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * Creates a new rate limiter with a full bucket.
+     * @param capacity The maximum number of tokens.
+     * @param refillPeriod The time needed to refill an empty bucket.
+     * @param clock The clock to use.
+     */
+    public RateLimiter(long capacity, @NotNull Duration refillPeriod, @NotNull Clock clock) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Capacity must be positive");
+        if (refillPeriod.isNegative() || refillPeriod.isZero())
+            throw new IllegalArgumentException("Refill period must be positive");
+
+        this.clock = clock;
+        this.capacity = capacity;
+        this.nanosPerToken = Math.max(1, refillPeriod.toNanos() / capacity);
+        this.burstNanos = PrivateUtils.mul(nanosPerToken, capacity);
+    }
+
+    /**
+     * Returns the maximum number of tokens.
+     * @return The capacity.
+     */
+    @Contract(pure = true)
+    public long getCapacity() {
+        return capacity;
+    }
+
+    private long now() {
+        final @NotNull Instant instant = clock.instant();
+
+        return PrivateUtils.toNanos(instant.seconds, instant.nanoseconds);
+    }
+
+    private long cost(long tokens) {
+        if (tokens <= 0 || tokens > capacity)
+            throw new IllegalArgumentException("Invalid number of tokens: " + tokens);
+        return tokens * nanosPerToken;
+    }
+
+    /**
+     * Tries to take a single token.
+     * @return Whether the token was taken.
+     */
+    public boolean tryAcquire() {
+        return tryAcquire(1);
+    }
+
+    /**
+     * Tries to take the given number of tokens. Either all or no tokens are taken.
+     * @param tokens The number of tokens. Must be between one and the capacity.
+     * @return Whether the tokens were taken.
+     */
+    public boolean tryAcquire(long tokens) {
+        final long cost = cost(tokens);
+        final long now = now();
+
+        while (true) {
+            final long current = fullAt.get();
+            final long next = PrivateUtils.add(Math.max(current, now), cost);
+
+            if (next - now > burstNanos)
+                return false;
+
+            if (fullAt.compareAndSet(current, next))
+                return true;
+        }
+    }
+
+    /**
+     * Returns the time until the given number of tokens can be taken.
+     * @param tokens The number of tokens. Must be between one and the capacity.
+     * @return The time in [ns] or zero if the tokens are available now.
+     */
+    public long nanosUntilAvailable(long tokens) {
+        final long cost = cost(tokens);
+        final long now = now();
+        final long next = PrivateUtils.add(Math.max(fullAt.get(), now), cost);
+
+        return Math.max(0, next - now - burstNanos);
+    }
+
+    /**
+     * Returns the number of tokens that can be taken now.
+     * @return The number of available tokens.
+     */
+    public long availableTokens() {
+        final long now = now();
+        return (burstNanos - (Math.max(fullAt.get(), now) - now)) / nanosPerToken;
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2021 nacamar GmbH - Ybrid®, a Hybrid Dynamic Live Audio Technology
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package java.time;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class implements a meter of event rates such as throughput.
+ * <P>
+ * Events are counted using {@link #mark(long)}. The meter keeps exponentially weighted moving averages of the
+ * rate over windows of one, five, and fifteen seconds. No background thread is used. Instead the averages are
+ * decayed by the time elapsed on the given {@link Clock} whenever the meter is used and at least
+ * {@link #MIN_UPDATE_INTERVAL} has passed since the last update.
+ * <P>
+ * All methods are lock-free. The update is done by whichever thread wins a compare-and-set on the time of the
+ * last update, so reading a rate never blocks a thread marking events and vice versa.
+ */
+public final class RateMeter {
+    /**
+     * The minimum time between two updates of the averages.
+     */
+    public static final Duration MIN_UPDATE_INTERVAL = Duration.ofMillis(100);
+
+    private static final long MIN_UPDATE_NANOS = MIN_UPDATE_INTERVAL.toNanos();
+    private static final double ONE_SECOND_NANOS = PrivateUtils.NS_PER_S;
+    private static final double FIVE_SECONDS_NANOS = 5 * ONE_SECOND_NANOS;
+    private static final double FIFTEEN_SECONDS_NANOS = 15 * ONE_SECOND_NANOS;
+
+    private final @NotNull Clock clock;
+    private final long startNanos;
+    private final @NotNull AtomicLong count = new AtomicLong();
+    private final @NotNull AtomicLong uncounted = new AtomicLong();
+    private final @NotNull AtomicLong lastUpdateNanos;
+    private volatile boolean initialized = false;
+    private volatile double oneSecondRate = 0;
+    private volatile double fiveSecondRate = 0;
+    private volatile double fifteenSecondRate = 0;
+
+    /**
+     * Creates a new meter.
+     * @param clock The clock to use.
+     */
+    public RateMeter(@NotNull Clock clock) {
+        this.clock = clock;
+        this.startNanos = now();
+        this.lastUpdateNanos = new AtomicLong(startNanos);
+    }
+
+    private long now() {
+        return PrivateUtils.mul(clock.millis(), PrivateUtils.MS_PER_NS);
+    }
+
+    /**
+     * Marks the occurrence of a single event.
+     */
+    public void mark() {
+        mark(1);
+    }
+
+    /**
+     * Marks the occurrence of a number of events, such as the number of bytes received.
+     * @param events The number of events.
+     */
+    public void mark(long events) {
+        uncounted.addAndGet(events);
+        count.addAndGet(events);
+        updateIfNecessary();
+    }
+
+    private void updateIfNecessary() {
+        final long now = now();
+        final long last = lastUpdateNanos.get();
+        final long elapsed = now - last;
+        final double instantRate;
+
+        if (elapsed < MIN_UPDATE_NANOS || !lastUpdateNanos.compareAndSet(last, now))
+            return;
+
+        instantRate = uncounted.getAndSet(0) * ONE_SECOND_NANOS / elapsed;
+
+        if (!initialized) {
+            oneSecondRate = instantRate;
+            fiveSecondRate = instantRate;
+            fifteenSecondRate = instantRate;
+            initialized = true;
+            return;
+        }
+
+        oneSecondRate = decay(oneSecondRate, instantRate, elapsed, ONE_SECOND_NANOS);
+        fiveSecondRate = decay(fiveSecondRate, instantRate, elapsed, FIVE_SECONDS_NANOS);
+        fifteenSecondRate = decay(fifteenSecondRate, instantRate, elapsed, FIFTEEN_SECONDS_NANOS);
+    }
+
+    @Contract(pure = true)
+    private static double decay(double rate, double instantRate, long elapsedNanos, double windowNanos) {
+        final double alpha = 1 - Math.exp(-elapsedNanos / windowNanos);
+        return rate + alpha * (instantRate - rate);
+    }
+
+    /**
+     * Returns the total number of events.
+     * @return The number of events.
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Returns the mean rate since this meter was created.
+     * @return The rate in events per second.
+     */
+    public double getMeanRate() {
+        final long elapsed = now() - startNanos;
+
+        if (elapsed <= 0)
+            return 0;
+
+        return count.get() * ONE_SECOND_NANOS / elapsed;
+    }
+
+    /**
+     * Returns the moving average of the rate over one second.
+     * @return The rate in events per second.
+     */
+    public double getOneSecondRate() {
+        updateIfNecessary();
+        return oneSecondRate;
+    }
+
+    /**
+     * Returns the moving average of the rate over five seconds.
+     * @return The rate in events per second.
+     */
+    public double getFiveSecondRate() {
+        updateIfNecessary();
+        return fiveSecondRate;
+    }
+
+    /**
+     * Returns the moving average of the rate over fifteen seconds.
+     * @return The rate in events per second.
+     */
+    public double getFifteenSecondRate() {
+        updateIfNecessary();
+        return fifteenSecondRate;
+    }
+}
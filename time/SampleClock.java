@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2021 nacamar GmbH - Ybrid®, a Hybrid Dynamic Live Audio Technology
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package java.time;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This class implements a {@link Clock} that is driven by the frame counter of an audio device.
+ * <P>
+ * The audio thread reports the current frame position using {@link #update(long)}. Each report is compared
+ * against a reference clock, usually the system clock, and a second order phase-locked loop smooths out
+ * the jitter of the reference while following the drift of the audio device. Between reports the clock advances
+ * using {@link System#nanoTime()}.
+ * <P>
+ * {@link #update(long)} must only be called from one thread at a time, normally the audio thread. All other
+ * methods are lock-free and can be called from any thread. The state is published using a sequence counter,
+ * so readers retry instead of blocking the writer. No method allocates, except for creating the returned
+ * {@link Instant}.
+ * <P>
+ * Before the first update the clock returns the time of the reference clock.
+ */
+public final class SampleClock extends Clock {
+    private static final long DEFAULT_TIME_CONSTANT_NANOS = 10 * PrivateUtils.NS_PER_S;
+    private static final long MAX_ERROR_NANOS = PrivateUtils.NS_PER_S;
+    private static final double MAX_DRIFT = 0.01;
+
+    private final @NotNull State state;
+    private final @NotNull ZoneId zone;
+
+    private static final class State {
+        private final int sampleRate;
+        private final @NotNull Clock reference;
+        private final double timeConstantNanos;
+
+        private volatile int sequence = 0;
+        private volatile boolean locked = false;
+        private volatile boolean resyncRequested = false;
+        private volatile long anchorFrame;
+        private volatile long anchorNanos;
+        private volatile long anchorSystemNanos;
+        private volatile double ratio = 1;
+
+        private State(int sampleRate, @NotNull Clock reference, double timeConstantNanos) {
+            this.sampleRate = sampleRate;
+            this.reference = reference;
+            this.timeConstantNanos = timeConstantNanos;
+        }
+    }
+
+    /**
+     * Creates a new clock using a default time constant of ten seconds.
+     * <P>
+     * With this time constant a device drifting by 100 ppm against a reference with 0.3 ms of jitter is tracked
+     * within 0.05 ms after about 45 seconds.
+     *
+     * @param sampleRate The sample rate of the audio device in [Hz].
+     * @param reference The reference clock to follow.
+     */
+    public SampleClock(int sampleRate, @NotNull Clock reference) {
+        this(sampleRate, reference, Duration.ofNanos(DEFAULT_TIME_CONSTANT_NANOS));
+    }
+
+    /**
+     * Creates a new clock.
+     * <P>
+     * The time constant controls how fast the clock follows the reference. Longer time constants filter out
+     * more jitter of the reference but take longer to settle.
+     *
+     * @param sampleRate The sample rate of the audio device in [Hz].
+     * @param reference The reference clock to follow.
+     * @param timeConstant The time constant of the loop filter.
+     */
+    public SampleClock(int sampleRate, @NotNull Clock reference, @NotNull Duration timeConstant) {
+        PrivateUtils.checkSampleRate(sampleRate);
+        if (timeConstant.isNegative() || timeConstant.isZero())
+            throw new IllegalArgumentException("Time constant must be positive");
+
+        this.state = new State(sampleRate, reference, timeConstant.toNanos());
+        this.zone = reference.getZone();
+    }
+
+    private SampleClock(@NotNull State state, @NotNull ZoneId zone) {
+        this.state = state;
+        this.zone = zone;
+    }
+
+    @Override
+    public @NotNull ZoneId getZone() {
+        return zone;
+    }
+
+    /**
+     * Returns a clock with a different time zone that shares the state of this clock.
+     * @param zone The new time zone to use.
+     * @return The new clock.
+     */
+    @Override
+    public @NotNull Clock withZone(@NotNull ZoneId zone) {
+        return new SampleClock(state, zone);
+    }
+
+    /**
+     * Returns the sample rate.
+     * @return The sample rate in [Hz].
+     */
+    @Contract(pure = true)
+    public int getSampleRate() {
+        return state.sampleRate;
+    }
+
+    private long framesToNanos(long frames) {
+        final int sampleRate = state.sampleRate;
+
+        return PrivateUtils.toNanos(PrivateUtils.floorDiv(frames, sampleRate), PrivateUtils.samplesToNanos(PrivateUtils.floorMod(frames, sampleRate), sampleRate));
+    }
+
+    private long referenceNanos() {
+        // The true time is anywhere within the millisecond, so use its middle to avoid a bias of half a millisecond.
+        return PrivateUtils.mulAdd(state.reference.millis(), PrivateUtils.MS_PER_NS, PrivateUtils.MS_PER_NS / 2);
+    }
+
+    private void publish(long frame, long nanos, long systemNanos, double ratio) {
+        final @NotNull State s = state;
+
+        s.sequence++;
+        s.anchorFrame = frame;
+        s.anchorNanos = nanos;
+        s.anchorSystemNanos = systemNanos;
+        s.ratio = ratio;
+        s.locked = true;
+        s.sequence++;
+    }
+
+    /**
+     * Reports the current frame position of the audio device.
+     * <P>
+     * This must only be called from one thread at a time. If the position jumps backwards, or the clock is off
+     * by more than a second, the clock is set to the reference again.
+     *
+     * @param framePosition The number of frames played so far.
+     */
+    public void update(long framePosition) {
+        final @NotNull State s = state;
+        final long systemNanos = System.nanoTime();
+        final long referenceNanos = referenceNanos();
+        final long audioNanos;
+        final long predicted;
+        final long error;
+        final double omega;
+
+        if (!s.locked || s.resyncRequested || framePosition < s.anchorFrame) {
+            s.resyncRequested = false;
+            publish(framePosition, referenceNanos, systemNanos, s.ratio);
+            return;
+        }
+
+        audioNanos = framesToNanos(framePosition - s.anchorFrame);
+        predicted = s.anchorNanos + (long) (audioNanos * s.ratio);
+        error = referenceNanos - predicted;
+
+        if (Math.abs(error) > MAX_ERROR_NANOS) {
+            publish(framePosition, referenceNanos, systemNanos, s.ratio);
+            return;
+        }
+
+        if (audioNanos == 0)
+            return;
+
+        // Critically damped second order loop: phase gain sqrt(2) * w * dt, frequency gain (w * dt)^2.
+        omega = Math.min(1, audioNanos / s.timeConstantNanos);
+        publish(framePosition,
+                predicted + (long) (Math.min(1, Math.sqrt(2) * omega) * error),
+                systemNanos,
+                Math.max(1 - MAX_DRIFT, Math.min(1 + MAX_DRIFT, s.ratio + omega * omega * error / audioNanos)));
+    }
+
+    /**
+     * Makes the next {@link #update(long)} set the clock to the reference again, for example after seeking
+     * or restarting the audio device. The estimated drift is kept.
+     */
+    public void resync() {
+        state.resyncRequested = true;
+    }
+
+    /**
+     * Returns the estimated drift of the audio device relative to the reference clock.
+     * @return The drift in parts per million. Positive values mean the audio device runs slow.
+     */
+    public double getDriftPpm() {
+        return (state.ratio - 1) * 1e6;
+    }
+
+    /**
+     * Returns the current time in [ns] since the epoch.
+     * @return The current time.
+     */
+    public long nanos() {
+        final @NotNull State s = state;
+
+        while (true) {
+            final int sequence = s.sequence;
+            final long nanos;
+
+            if ((sequence & 1) != 0)
+                continue;
+            if (!s.locked)
+                return referenceNanos();
+
+            nanos = s.anchorNanos + (long) (Math.max(0, System.nanoTime() - s.anchorSystemNanos) * s.ratio);
+
+            if (sequence == s.sequence)
+                return nanos;
+        }
+    }
+
+    /**
+     * Returns the time at which the given frame is played.
+     * <P>
+     * The result is only defined after the first {@link #update(long)}.
+     *
+     * @param framePosition The frame position.
+     * @return The time in [ns] since the epoch.
+     */
+    public long nanosOfFrame(long framePosition) {
+        final @NotNull State s = state;
+
+        while (true) {
+            final int sequence = s.sequence;
+            final long nanos;
+
+            if ((sequence & 1) != 0)
+                continue;
+
+            nanos = s.anchorNanos + (long) (framesToNanos(framePosition - s.anchorFrame) * s.ratio);
+
+            if (sequence == s.sequence)
+                return nanos;
+        }
+    }
+
+    /**
+     * Returns the frame that is played at the given time.
+     * <P>
+     * The result is only defined after the first {@link #update(long)}.
+     *
+     * @param epochNanos The time in [ns] since the epoch.
+     * @return The frame position, rounded to the nearest frame.
+     */
+    public long frameAt(long epochNanos) {
+        final @NotNull State s = state;
+
+        while (true) {
+            final int sequence = s.sequence;
+            final long nanos;
+            final long frame;
+
+            if ((sequence & 1) != 0)
+                continue;
+
+            nanos = (long) ((epochNanos - s.anchorNanos) / s.ratio);
+            frame = s.anchorFrame + PrivateUtils.toSamples(PrivateUtils.floorDiv(nanos, PrivateUtils.NS_PER_S), PrivateUtils.floorMod(nanos, PrivateUtils.NS_PER_S), s.sampleRate);
+
+            if (sequence == s.sequence)
+                return frame;
+        }
+    }
+
+    /**
+     * Returns the time at which the given frame is played.
+     * @param framePosition The frame position.
+     * @return The instant.
+     * @see #nanosOfFrame(long)
+     */
+    public @NotNull Instant instantOfFrame(long framePosition) {
+        return Instant.ofEpochNano(nanosOfFrame(framePosition));
+    }
+
+    @Override
+    public @NotNull Instant instant() {
+        return Instant.ofEpochNano(nanos());
+    }
+
+    @Override
+    public long millis() {
+        return PrivateUtils.floorDiv(nanos(), PrivateUtils.MS_PER_NS);
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2021 nacamar GmbH - Ybrid®, a Hybrid Dynamic Live Audio Technology
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package java.time;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * This class implements a stopwatch for timing code.
+ * <P>
+ * Time is measured using {@link System#nanoTime()} and kept in [ns] as primitives. Objects are only created
+ * when a {@link Duration} is explicitly requested. Each measurement taken by {@link #lap()} or {@link #stop()}
+ * can be reported in [ns] to a {@link LongConsumer}.
+ * <P>
+ * This class is not thread safe.
+ */
+public final class Stopwatch {
+    private final @Nullable LongConsumer sink;
+    private boolean running = false;
+    private long startNanos;
+    private long lapStartNanos;
+    private long accumulatedNanos = 0;
+
+    /**
+     * Creates a new stopped stopwatch.
+     */
+    public Stopwatch() {
+        this.sink = null;
+    }
+
+    /**
+     * Creates a new stopped stopwatch reporting to the given sink.
+     * @param sink The consumer to report measurements in [ns] to.
+     */
+    public Stopwatch(@NotNull LongConsumer sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Creates a new stopped stopwatch reporting to the given consumer.
+     * <P>
+     * A new {@link Duration} is created for each measurement.
+     *
+     * @param consumer The consumer to report measurements to.
+     * @return The new stopwatch.
+     */
+    @Contract(value = "_ -> new", pure = true)
+    public static @NotNull Stopwatch reportingTo(@NotNull Consumer<? super Duration> consumer) {
+        return new Stopwatch(nanos -> consumer.accept(Duration.ofNanos(nanos)));
+    }
+
+    /**
+     * Measures the time needed to run the given code.
+     * @param runnable The code to run.
+     * @return The time in [ns].
+     */
+    public static long measureNanos(@NotNull Runnable runnable) {
+        final long start = System.nanoTime();
+        runnable.run();
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Measures the time needed to run the given code.
+     * @param runnable The code to run.
+     * @return The time.
+     */
+    public static @NotNull Duration measure(@NotNull Runnable runnable) {
+        return Duration.ofNanos(measureNanos(runnable));
+    }
+
+    /**
+     * Returns whether this stopwatch is running.
+     * @return Whether this stopwatch is running.
+     */
+    @Contract(pure = true)
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts this stopwatch.
+     * @return This stopwatch.
+     * @throws IllegalStateException If this stopwatch is already running.
+     */
+    @Contract("-> this")
+    public @NotNull Stopwatch start() {
+        if (running)
+            throw new IllegalStateException("Stopwatch is already running");
+
+        running = true;
+        startNanos = lapStartNanos = System.nanoTime();
+
+        //noinspection ReturnOfThis
+        return this;
+    }
+
+    /**
+     * Stops this stopwatch and reports the time since the last lap, or the start if there was none.
+     * @return The time since the start in [ns].
+     * @throws IllegalStateException If this stopwatch is not running.
+     */
+    public long stop() {
+        final long now = System.nanoTime();
+        final long elapsed;
+
+        if (!running)
+            throw new IllegalStateException("Stopwatch is not running");
+
+        running = false;
+        elapsed = now - startNanos;
+        accumulatedNanos += elapsed;
+        report(now - lapStartNanos);
+
+        return elapsed;
+    }
+
+    /**
+     * Completes the current lap and reports its time.
+     * @return The time since the last lap, or the start if there was none, in [ns].
+     * @throws IllegalStateException If this stopwatch is not running.
+     */
+    public long lap() {
+        final long now = System.nanoTime();
+        final long elapsed;
+
+        if (!running)
+            throw new IllegalStateException("Stopwatch is not running");
+
+        elapsed = now - lapStartNanos;
+        lapStartNanos = now;
+        report(elapsed);
+
+        return elapsed;
+    }
+
+    /**
+     * Returns the time since the start without stopping this stopwatch or completing a lap.
+     * @return The time in [ns].
+     * @throws IllegalStateException If this stopwatch is not running.
+     */
+    public long split() {
+        if (!running)
+            throw new IllegalStateException("Stopwatch is not running");
+
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Stops this stopwatch and clears the elapsed time.
+     * @return This stopwatch.
+     */
+    @Contract("-> this")
+    public @NotNull Stopwatch reset() {
+        running = false;
+        accumulatedNanos = 0;
+
+        //noinspection ReturnOfThis
+        return this;
+    }
+
+    /**
+     * Returns the total time this stopwatch was running since it was created or reset.
+     * @return The time in [ns].
+     */
+    public long elapsedNanos() {
+        if (running)
+            return accumulatedNanos + (System.nanoTime() - startNanos);
+        return accumulatedNanos;
+    }
+
+    /**
+     * Returns the total time this stopwatch was running since it was created or reset.
+     * @return The time.
+     */
+    public @NotNull Duration elapsed() {
+        return Duration.ofNanos(elapsedNanos());
+    }
+
+    private void report(long nanos) {
+        if (sink != null)
+            sink.accept(nanos);
+    }
+}
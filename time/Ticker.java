@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2021 nacamar GmbH - Ybrid®, a Hybrid Dynamic Live Audio Technology
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package java.time;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+/**
+ * This class implements a fixed-rate ticker.
+ * <P>
+ * Tick {@code n} is due at {@code start + n * period}. As every due time is computed from the start instead of
+ * from the previous tick, delays in handling a tick do not accumulate. If ticks are handled too late to be on
+ * time, the ticks that passed in between are skipped and counted as missed, so the ticker never tries to catch up
+ * with a burst of ticks.
+ * <P>
+ * The time is read from the given {@link Clock} using {@link Clock#instant()} with nanosecond precision. Ticks
+ * are delivered as their index to a {@link LongConsumer}, so no objects are created per tick.
+ * <P>
+ * This class is not thread safe, except for {@link #stop()} and {@link #isStopped()}.
+ */
+public final class Ticker {
+    private final @NotNull Clock clock;
+    private final long startNanos;
+    private final long periodNanos;
+    private long nextTick = 0;
+    private long missedTicks = 0;
+    private volatile boolean stopped = false;
+
+    /**
+     * Creates a new ticker.
+     * @param start The time of the first tick.
+     * @param period The time between two ticks.
+     * @param clock The clock to use.
+     */
+    public Ticker(@NotNull Instant start, @NotNull Duration period, @NotNull Clock clock) {
+        if (period.isNegative() || period.isZero())
+            throw new IllegalArgumentException("Period must be positive");
+
+        this.clock = clock;
+        this.startNanos = start.toEpochNano();
+        this.periodNanos = period.toNanos();
+    }
+
+    /**
+     * Creates a new ticker starting now.
+     * @param period The time between two ticks.
+     * @param clock The clock to use.
+     * @return The new ticker.
+     */
+    @Contract(value = "_, _ -> new", pure = true)
+    public static @NotNull Ticker startingNow(@NotNull Duration period, @NotNull Clock clock) {
+        return new Ticker(clock.instant(), period, clock);
+    }
+
+    private long now() {
+        final @NotNull Instant instant = clock.instant();
+
+        return PrivateUtils.toNanos(instant.seconds, instant.nanoseconds);
+    }
+
+    /**
+     * Returns the time of the given tick in [ns] since the epoch.
+     * @param tick The index of the tick.
+     * @return The time.
+     */
+    @Contract(pure = true)
+    public long nanosOfTick(long tick) {
+        return PrivateUtils.mulAdd(tick, periodNanos, startNanos);
+    }
+
+    /**
+     * Returns the time of the given tick.
+     * @param tick The index of the tick.
+     * @return The time.
+     */
+    @Contract(value = "_ -> new", pure = true)
+    public @NotNull Instant instantOfTick(long tick) {
+        return Instant.ofEpochNano(nanosOfTick(tick));
+    }
+
+    /**
+     * Returns the index of the next tick to be delivered.
+     * @return The index.
+     */
+    @Contract(pure = true)
+    public long getNextTick() {
+        return nextTick;
+    }
+
+    /**
+     * Returns the number of ticks that were skipped because they were handled too late.
+     * @return The number of missed ticks.
+     */
+    @Contract(pure = true)
+    public long getMissedTicks() {
+        return missedTicks;
+    }
+
+    /**
+     * Returns the time until the next tick is due.
+     * @return The time in [ns] or zero if the tick is due.
+     */
+    public long nanosUntilNextTick() {
+        return Math.max(0, nanosOfTick(nextTick) - now());
+    }
+
+    /**
+     * Returns the tick that is due now, if any.
+     * <P>
+     * If more than one tick is due, only the latest is returned and the others are counted as missed.
+     *
+     * @return The index of the tick or {@code -1} if no tick is due.
+     */
+    public long poll() {
+        final long now = now();
+        final long tick;
+
+        if (now < nanosOfTick(nextTick))
+            return -1;
+
+        tick = PrivateUtils.floorDiv(now - startNanos, periodNanos);
+        missedTicks += tick - nextTick;
+        nextTick = tick + 1;
+
+        return tick;
+    }
+
+    /**
+     * Waits for the next tick.
+     * @return The index of the tick.
+     * @throws InterruptedException If the thread was interrupted while waiting.
+     * @see #poll()
+     */
+    public long awaitTick() throws InterruptedException {
+        while (true) {
+            final long remaining = nanosUntilNextTick();
+            final long tick;
+
+            if (remaining > 0) {
+                TimeUnit.NANOSECONDS.sleep(remaining);
+                continue;
+            }
+
+            tick = poll();
+            if (tick >= 0)
+                return tick;
+        }
+    }
+
+    /**
+     * Delivers ticks to the given consumer until {@link #stop()} is called.
+     * <P>
+     * Returns immediately if the ticker was stopped before. A tick that becomes due after {@link #stop()} was called
+     * is not delivered.
+     *
+     * @param consumer The consumer receiving the index of each tick.
+     * @throws InterruptedException If the thread was interrupted while waiting.
+     */
+    public void run(@NotNull LongConsumer consumer) throws InterruptedException {
+        while (!stopped) {
+            final long tick = awaitTick();
+
+            if (stopped)
+                return;
+
+            consumer.accept(tick);
+        }
+    }
+
+    /**
+     * Makes {@link #run(LongConsumer)} return without delivering further ticks. This can be called from any thread,
+     * also before {@link #run(LongConsumer)} is called. The ticker stays stopped until {@link #reset()} is called.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Returns whether {@link #stop()} was called since the ticker was created or last reset.
+     * @return Whether the ticker is stopped.
+     */
+    @Contract(pure = true)
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * Clears the stop request, so {@link #run(LongConsumer)} can be called again.
+     */
+    public void reset() {
+        stopped = false;
+    }
+}
@@ -0,0 +1,399 @@
+/*
+ * Copyright (c) 2021 nacamar GmbH - Ybrid®, a Hybrid Dynamic Live Audio Technology
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package java.time;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * This class implements a map from {@link Instant Instants} to values sorted by time.
+ * <P>
+ * Keys are stored in primitive arrays, so no objects are created per entry or per lookup. Adding entries in
+ * ascending order is done in amortized constant time, other insertions need to shift the following entries.
+ * Lookups are done in logarithmic time. For sequential lookups as done during playback a {@link Cursor} can be used.
+ * <P>
+ * This class is not thread safe.
+ *
+ * @param <T> The type of the values.
+ */
+public final class TimeIndex<T> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CURSOR_STEPS = 8;
+
+    private int size = 0;
+    private long @NotNull [] seconds;
+    private int @NotNull [] nanos;
+    private @Nullable Object @NotNull [] values;
+
+    /**
+     * Creates a new empty index.
+     */
+    public TimeIndex() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new empty index.
+     * @param initialCapacity The number of entries to reserve space for.
+     */
+    public TimeIndex(int initialCapacity) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Negative capacity");
+
+        seconds = new long[initialCapacity];
+        nanos = new int[initialCapacity];
+        values = new Object[initialCapacity];
+    }
+
+    /**
+     * Returns the number of entries.
+     * @return The number of entries.
+     */
+    @Contract(pure = true)
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether this index is empty.
+     * @return Whether this index is empty.
+     */
+    @Contract(pure = true)
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Associates a value with the given instant. An existing value for the same instant is replaced.
+     * @param instant The instant.
+     * @param value The value.
+     */
+    public void put(@NotNull Instant instant, T value) {
+        put(instant.seconds, instant.getNano(), value);
+    }
+
+    /**
+     * Associates a value with the given instant. An existing value for the same instant is replaced.
+     * @param epochSecond The seconds of the instant as defined by {@link java.time.temporal.ChronoField#INSTANT_SECONDS}.
+     * @param nano The nanoseconds of the instant as defined by {@link java.time.temporal.ChronoField#NANO_OF_SECOND}.
+     * @param value The value.
+     */
+    public void put(long epochSecond, int nano, T value) {
+        final int last = size - 1;
+        final int cmp = size == 0 ? 1 : PrivateUtils.compare(epochSecond, nano, seconds[last], nanos[last]);
+        int index;
+
+        if (cmp == 0) {
+            values[last] = value;
+            return;
+        }
+
+        if (cmp > 0) {
+            index = size;
+        } else {
+            index = search(epochSecond, nano);
+            if (index >= 0) {
+                values[index] = value;
+                return;
+            }
+            index = -index - 1;
+        }
+
+        if (size == values.length)
+            grow();
+
+        if (index < size) {
+            System.arraycopy(seconds, index, seconds, index + 1, size - index);
+            System.arraycopy(nanos, index, nanos, index + 1, size - index);
+            System.arraycopy(values, index, values, index + 1, size - index);
+        }
+
+        seconds[index] = epochSecond;
+        nanos[index] = nano;
+        values[index] = value;
+        size++;
+    }
+
+    private void grow() {
+        final int capacity = Math.max(DEFAULT_CAPACITY, size * 2);
+
+        seconds = Arrays.copyOf(seconds, capacity);
+        nanos = Arrays.copyOf(nanos, capacity);
+        values = Arrays.copyOf(values, capacity);
+    }
+
+    /**
+     * Searches for the given instant.
+     * @return The index of the entry or {@code -(insertion point) - 1} if there is none.
+     */
+    @Contract(pure = true)
+    private int search(long s, int ns) {
+        int lo = 0;
+        int hi = size - 1;
+
+        while (lo <= hi) {
+            final int mid = (lo + hi) >>> 1;
+            final int cmp = PrivateUtils.compare(seconds[mid], nanos[mid], s, ns);
+
+            if (cmp < 0) {
+                lo = mid + 1;
+            } else if (cmp > 0) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+
+        return -(lo + 1);
+    }
+
+    /**
+     * Returns the index of the last entry at or before the given instant.
+     * @param epochSecond The seconds of the instant.
+     * @param nano The nanoseconds of the instant.
+     * @return The index or {@code -1} if there is no such entry.
+     */
+    @Contract(pure = true)
+    public int floorIndex(long epochSecond, int nano) {
+        final int index = search(epochSecond, nano);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    /**
+     * Returns the index of the first entry at or after the given instant.
+     * @param epochSecond The seconds of the instant.
+     * @param nano The nanoseconds of the instant.
+     * @return The index or {@code -1} if there is no such entry.
+     */
+    @Contract(pure = true)
+    public int ceilingIndex(long epochSecond, int nano) {
+        int index = search(epochSecond, nano);
+
+        if (index < 0)
+            index = -index - 1;
+
+        return index < size ? index : -1;
+    }
+
+    /**
+     * Returns the value in effect at the given instant.
+     * @param instant The instant.
+     * @return The value of the last entry at or before the instant or {@code null} if there is none.
+     */
+    @Contract(pure = true)
+    public @Nullable T floor(@NotNull Instant instant) {
+        return floor(instant.seconds, instant.getNano());
+    }
+
+    /**
+     * Returns the value in effect at the given instant.
+     * @param epochSecond The seconds of the instant.
+     * @param nano The nanoseconds of the instant.
+     * @return The value of the last entry at or before the instant or {@code null} if there is none.
+     */
+    @Contract(pure = true)
+    public @Nullable T floor(long epochSecond, int nano) {
+        final int index = floorIndex(epochSecond, nano);
+        return index < 0 ? null : getValue(index);
+    }
+
+    /**
+     * Returns the value of the next entry.
+     * @param instant The instant.
+     * @return The value of the first entry at or after the instant or {@code null} if there is none.
+     */
+    @Contract(pure = true)
+    public @Nullable T ceiling(@NotNull Instant instant) {
+        return ceiling(instant.seconds, instant.getNano());
+    }
+
+    /**
+     * Returns the value of the next entry.
+     * @param epochSecond The seconds of the instant.
+     * @param nano The nanoseconds of the instant.
+     * @return The value of the first entry at or after the instant or {@code null} if there is none.
+     */
+    @Contract(pure = true)
+    public @Nullable T ceiling(long epochSecond, int nano) {
+        final int index = ceilingIndex(epochSecond, nano);
+        return index < 0 ? null : getValue(index);
+    }
+
+    /**
+     * Visits all values within the given range in ascending order.
+     * @param fromInclusive The start of the range.
+     * @param toExclusive The end of the range.
+     * @param action The action to call for each value.
+     */
+    public void forEachInRange(@NotNull Instant fromInclusive, @NotNull Instant toExclusive, @NotNull Consumer<? super T> action) {
+        forEachInRange(fromInclusive.seconds, fromInclusive.getNano(), toExclusive.seconds, toExclusive.getNano(), action);
+    }
+
+    /**
+     * Visits all values within the given range in ascending order.
+     * @param fromEpochSecond The seconds of the inclusive start.
+     * @param fromNano The nanoseconds of the inclusive start.
+     * @param toEpochSecond The seconds of the exclusive end.
+     * @param toNano The nanoseconds of the exclusive end.
+     * @param action The action to call for each value.
+     */
+    public void forEachInRange(long fromEpochSecond, int fromNano, long toEpochSecond, int toNano, @NotNull Consumer<? super T> action) {
+        int index = ceilingIndex(fromEpochSecond, fromNano);
+
+        if (index < 0)
+            return;
+
+        for (; index < size && PrivateUtils.compare(seconds[index], nanos[index], toEpochSecond, toNano) < 0; index++)
+            action.accept(getValue(index));
+    }
+
+    /**
+     * Returns the seconds of the entry at the given index.
+     * @param index The index.
+     * @return The seconds as defined by {@link java.time.temporal.ChronoField#INSTANT_SECONDS}.
+     */
+    @Contract(pure = true)
+    public long getEpochSecond(int index) {
+        checkIndex(index);
+        return seconds[index];
+    }
+
+    /**
+     * Returns the nanoseconds of the entry at the given index.
+     * @param index The index.
+     * @return The nanoseconds as defined by {@link java.time.temporal.ChronoField#NANO_OF_SECOND}.
+     */
+    @Contract(pure = true)
+    public int getNano(int index) {
+        checkIndex(index);
+        return nanos[index];
+    }
+
+    /**
+     * Returns the instant of the entry at the given index.
+     * @param index The index.
+     * @return The instant.
+     */
+    @Contract(value = "_ -> new", pure = true)
+    public @NotNull Instant getInstant(int index) {
+        checkIndex(index);
+        return Instant.ofEpochSecond(seconds[index], nanos[index]);
+    }
+
+    /**
+     * Returns the value of the entry at the given index.
+     * @param index The index.
+     * @return The value.
+     */
+    @SuppressWarnings("unchecked")
+    @Contract(pure = true)
+    public T getValue(int index) {
+        checkIndex(index);
+        return (T) values[index];
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    /**
+     * Creates a new cursor on this index.
+     * @return The new cursor.
+     */
+    @Contract(value = " -> new", pure = true)
+    public @NotNull Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * This class implements sequential lookups on a {@link TimeIndex}.
+     * <P>
+     * The cursor remembers the position of the last lookup. Lookups with ascending instants, as done
+     * during playback, take constant time. Other lookups fall back to a binary search.
+     * Entries appended to the index are seen by the cursor.
+     */
+    public final class Cursor {
+        private int position = -1;
+
+        private Cursor() {
+        }
+
+        /**
+         * Moves this cursor to the given instant.
+         * @param epochSecond The seconds of the instant.
+         * @param nano The nanoseconds of the instant.
+         * @return The index of the last entry at or before the instant or {@code -1} if there is none.
+         */
+        public int seek(long epochSecond, int nano) {
+            int steps = 0;
+
+            if (position >= size || (position >= 0 && PrivateUtils.compare(seconds[position], nanos[position], epochSecond, nano) > 0)) {
+                position = floorIndex(epochSecond, nano);
+                return position;
+            }
+
+            while (position + 1 < size && PrivateUtils.compare(seconds[position + 1], nanos[position + 1], epochSecond, nano) <= 0) {
+                if (++steps > MAX_CURSOR_STEPS) {
+                    position = floorIndex(epochSecond, nano);
+                    return position;
+                }
+                position++;
+            }
+
+            return position;
+        }
+
+        /**
+         * Returns the value in effect at the given instant and moves this cursor there.
+         * @param instant The instant.
+         * @return The value of the last entry at or before the instant or {@code null} if there is none.
+         */
+        public @Nullable T floor(@NotNull Instant instant) {
+            return floor(instant.seconds, instant.getNano());
+        }
+
+        /**
+         * Returns the value in effect at the given instant and moves this cursor there.
+         * @param epochSecond The seconds of the instant.
+         * @param nano The nanoseconds of the instant.
+         * @return The value of the last entry at or before the instant or {@code null} if there is none.
+         */
+        public @Nullable T floor(long epochSecond, int nano) {
+            final int index = seek(epochSecond, nano);
+            return index < 0 ? null : getValue(index);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2021 nacamar GmbH - Ybrid®, a Hybrid Dynamic Live Audio Technology
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package java.time;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class generates unique, time-ordered 64-bit IDs.
+ * <P>
+ * The layout follows the Snowflake scheme: the sign bit is always zero, followed by 41 bits of time in [ms] since
+ * a configurable epoch, 10 bits of node ID and a 12-bit sequence. This allows about 69 years from the epoch,
+ * 1024 nodes and 4096 IDs per millisecond and node. IDs of one generator are strictly increasing, IDs of several
+ * nodes sort by the time they were generated.
+ * <P>
+ * The time is read from the given {@link Clock} using {@link Clock#millis()}, as IDs only hold milliseconds and
+ * reading {@link Clock#instant()} would allocate. {@link Clock#millis()} defaults to the system time, so a clock
+ * that is driven manually, for example in tests, has to override it and not only {@link Clock#instant()}, as
+ * {@link Clock#fixed(Instant, ZoneId)} and {@link Clock#offset(Clock, Duration)} do. The last time and sequence
+ * are kept in an {@link AtomicLong} and updated using compare-and-set, so generating IDs is lock-free and does not
+ * allocate.
+ * If the clock goes backwards, or more than 4096 IDs are requested within a millisecond, the sequence continues to
+ * count up and carries into the time. IDs stay unique and ordered in both cases and the time catches up again once
+ * the clock passes it. IDs generated while the clock is behind are counted for diagnostics.
+ * <P>
+ * IDs can be converted to a fixed-width string of 13 characters using Crockford's Base32 alphabet. The strings
+ * sort the same way as the IDs.
+ */
+public final class TimeOrderedIdGenerator {
+    /**
+     * The default epoch, 2020-01-01T00:00:00Z.
+     */
+    public static final @NotNull Instant DEFAULT_EPOCH = Instant.ofEpochSecond(1577836800L);
+
+    /**
+     * The number of bits used for the node ID.
+     */
+    public static final int NODE_BITS = 10;
+
+    /**
+     * The number of bits used for the sequence.
+     */
+    public static final int SEQUENCE_BITS = 12;
+
+    /**
+     * The number of characters of the string form of an ID.
+     */
+    public static final int STRING_LENGTH = 13;
+
+    private static final int TIME_BITS = Long.SIZE - 1 - NODE_BITS - SEQUENCE_BITS;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long NODE_MASK = (1L << NODE_BITS) - 1;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final byte[] DECODE = new byte[128];
+
+    static {
+        for (int i = 0; i < DECODE.length; i++)
+            DECODE[i] = -1;
+        for (int i = 0; i < ALPHABET.length; i++) {
+            DECODE[ALPHABET[i]] = (byte) i;
+            DECODE[Character.toLowerCase(ALPHABET[i])] = (byte) i;
+        }
+        DECODE['O'] = DECODE['o'] = 0;
+        DECODE['I'] = DECODE['i'] = DECODE['L'] = DECODE['l'] = 1;
+    }
+
+    private final @NotNull Clock clock;
+    private final long epochMillis;
+    private final long node;
+    private final @NotNull AtomicLong last = new AtomicLong(Long.MIN_VALUE);
+    private final @NotNull AtomicLong regressions = new AtomicLong();
+
+    /**
+     * Creates a new generator using {@link #DEFAULT_EPOCH}.
+     * @param clock The clock to read the time from, which has to implement {@link Clock#millis()}.
+     * @param nodeId The ID of this node, between 0 and 1023.
+     */
+    public TimeOrderedIdGenerator(@NotNull Clock clock, int nodeId) {
+        this(clock, DEFAULT_EPOCH, nodeId);
+    }
+
+    /**
+     * Creates a new generator.
+     * @param clock The clock to read the time from, which has to implement {@link Clock#millis()}.
+     * @param epoch The epoch of the IDs. All nodes must use the same epoch.
+     * @param nodeId The ID of this node, between 0 and 1023.
+     */
+    public TimeOrderedIdGenerator(@NotNull Clock clock, @NotNull Instant epoch, int nodeId) {
+        if (nodeId < 0 || nodeId > NODE_MASK)
+            throw new IllegalArgumentException("Invalid node ID: " + nodeId);
+
+        this.clock = clock;
+        this.epochMillis = epoch.toEpochMilli();
+        this.node = nodeId;
+    }
+
+    /**
+     * Returns a new ID.
+     * @return The ID.
+     * @throws DateTimeException If the clock is before the epoch or the time no longer fits the ID.
+     */
+    public long nextId() {
+        final long now = PrivateUtils.subtract(clock.millis(), epochMillis);
+        final long next;
+
+        if (now < 0)
+            throw new DateTimeException("Clock is before the epoch");
+        if ((now >>> TIME_BITS) != 0)
+            throw new DateTimeException("Time does not fit an ID");
+
+        while (true) {
+            final long current = last.get();
+            final long candidate = (now > (current >> SEQUENCE_BITS)) ? now << SEQUENCE_BITS : current + 1;
+
+            if ((candidate >>> (TIME_BITS + SEQUENCE_BITS)) != 0)
+                throw new DateTimeException("Time does not fit an ID");
+
+            if (last.compareAndSet(current, candidate)) {
+                if (now < (current >> SEQUENCE_BITS))
+                    regressions.incrementAndGet();
+                next = candidate;
+                break;
+            }
+        }
+
+        return ((next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+    }
+
+    /**
+     * Returns how many IDs were generated while the clock was behind the time of the previous ID.
+     * @return The number of IDs affected by clock regressions.
+     */
+    @Contract(pure = true)
+    public long getRegressionCount() {
+        return regressions.get();
+    }
+
+    /**
+     * Returns the time of an ID in [ms] since the epoch of the {@link Instant} class.
+     * @param id The ID.
+     * @return The time.
+     */
+    @Contract(pure = true)
+    public long toEpochMilli(long id) {
+        return epochMillis + (id >>> (NODE_BITS + SEQUENCE_BITS));
+    }
+
+    /**
+     * Returns the time of an ID.
+     * @param id The ID.
+     * @return The time.
+     */
+    @Contract(value = "_ -> new", pure = true)
+    public @NotNull Instant toInstant(long id) {
+        return Instant.ofEpochMilli(toEpochMilli(id));
+    }
+
+    /**
+     * Returns the node ID of an ID.
+     * @param id The ID.
+     * @return The node ID.
+     */
+    @Contract(pure = true)
+    public static int nodeId(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & NODE_MASK);
+    }
+
+    /**
+     * Returns the sequence of an ID.
+     * @param id The ID.
+     * @return The sequence.
+     */
+    @Contract(pure = true)
+    public static int sequence(long id) {
+        return (int) (id & SEQUENCE_MASK);
+    }
+
+    /**
+     * Writes the string form of an ID.
+     * @param id The ID.
+     * @param buffer The buffer to write {@link #STRING_LENGTH} characters to.
+     * @param offset The offset to write at.
+     */
+    public static void encode(long id, @NotNull char[] buffer, int offset) {
+        for (int i = STRING_LENGTH - 1; i >= 0; i--) {
+            buffer[offset + i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+    }
+
+    /**
+     * Returns the string form of an ID.
+     * @param id The ID.
+     * @return The string.
+     */
+    @Contract(value = "_ -> new", pure = true)
+    public static @NotNull String toString(long id) {
+        final char[] buffer = new char[STRING_LENGTH];
+
+        encode(id, buffer, 0);
+        return new String(buffer);
+    }
+
+    /**
+     * Parses the string form of an ID. The parsing is case-insensitive and accepts {@code O} for {@code 0} as well
+     * as {@code I} and {@code L} for {@code 1}.
+     * @param text The string.
+     * @return The ID.
+     * @throws IllegalArgumentException If the string is not a valid ID.
+     */
+    @Contract(pure = true)
+    public static long parse(@NotNull CharSequence text) {
+        long id = 0;
+
+        if (text.length() != STRING_LENGTH)
+            throw new IllegalArgumentException("Invalid length: " + text.length());
+
+        for (int i = 0; i < STRING_LENGTH; i++) {
+            final char c = text.charAt(i);
+            final int value = c < DECODE.length ? DECODE[c] : -1;
+
+            if (value < 0 || (i == 0 && value > 7))
+                throw new IllegalArgumentException("Invalid ID: " + text);
+
+            id = (id << 5) | value;
+        }
+
+        return id;
+    }
+}
@@ -0,0 +1,381 @@
+/*
+ * Copyright (c) 2021 nacamar GmbH - Ybrid®, a Hybrid Dynamic Live Audio Technology
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package java.time;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * This class downsamples a stream of timestamped values into time windows.
+ * <P>
+ * Windows are aligned to the epoch. In tumbling mode the windows do not overlap, in sliding mode a new window
+ * starts every slide and each value is part of several windows. For each window the count, minimum, maximum, sum,
+ * mean, and the values with the earliest and latest timestamp are kept. Values added as {@code long}, for example
+ * durations in [ns], are summed exactly in 128 bits and only converted to {@code double} when the sum or mean is
+ * read, so long-running sums do not lose precision.
+ * <P>
+ * Values may arrive out of order by up to the allowed lateness. A window is emitted once the latest timestamp seen
+ * is at least the allowed lateness past its end. Values for windows that were already emitted are not counted
+ * in them, values that are not part of any open window are counted as dropped. Empty windows are not emitted.
+ * <P>
+ * The state of all windows that can be open at the same time is kept in preallocated arrays, so memory use is
+ * constant and adding values does not allocate. Windows are passed to the consumer as a reused {@link Window} that
+ * is only valid during the call.
+ * <P>
+ * This class is not thread safe.
+ */
+public final class TimeWindowAggregator {
+    private static final int MAX_OPEN_WINDOWS = 1 << 20;
+
+    private final long windowNanos;
+    private final long slideNanos;
+    private final long latenessNanos;
+    private final @NotNull Consumer<? super Window> consumer;
+    private final @NotNull Window window = new Window();
+    private final int capacity;
+    private final long[] index;
+    private final long[] count;
+    private final double[] min;
+    private final double[] max;
+    private final double[] sum;
+    private final long[] sumHigh;
+    private final long[] sumLow;
+    private final long[] firstNanos;
+    private final double[] first;
+    private final long[] lastNanos;
+    private final double[] last;
+    private long nextToEmit = Long.MIN_VALUE;
+    private long maxNanos = Long.MIN_VALUE;
+    private long dropped = 0;
+
+    private TimeWindowAggregator(@NotNull Duration window, @NotNull Duration slide, @NotNull Duration lateness, @NotNull Consumer<? super Window> consumer) {
+        final long openWindows;
+
+        if (window.isNegative() || window.isZero())
+            throw new IllegalArgumentException("Window must be positive");
+        if (slide.isNegative() || slide.isZero() || slide.compareTo(window) > 0)
+            throw new IllegalArgumentException("Slide must be positive and not longer than the window");
+        if (lateness.isNegative())
+            throw new IllegalArgumentException("Lateness must not be negative");
+
+        this.windowNanos = window.toNanos();
+        this.slideNanos = slide.toNanos();
+        this.latenessNanos = lateness.toNanos();
+        this.consumer = consumer;
+
+        openWindows = PrivateUtils.add(windowNanos, latenessNanos) / slideNanos + 2;
+        if (openWindows > MAX_OPEN_WINDOWS)
+            throw new IllegalArgumentException("Too many open windows: " + openWindows);
+
+        this.capacity = (int) openWindows;
+        this.index = new long[capacity];
+        this.count = new long[capacity];
+        this.min = new double[capacity];
+        this.max = new double[capacity];
+        this.sum = new double[capacity];
+        this.sumHigh = new long[capacity];
+        this.sumLow = new long[capacity];
+        this.firstNanos = new long[capacity];
+        this.first = new double[capacity];
+        this.lastNanos = new long[capacity];
+        this.last = new double[capacity];
+
+        Arrays.fill(index, Long.MIN_VALUE);
+    }
+
+    /**
+     * Creates a new aggregator with non-overlapping windows.
+     * @param window The length of the windows.
+     * @param lateness The time values may arrive late.
+     * @param consumer The consumer to emit windows to.
+     * @return The new aggregator.
+     */
+    @Contract(value = "_, _, _ -> new", pure = true)
+    public static @NotNull TimeWindowAggregator tumbling(@NotNull Duration window, @NotNull Duration lateness, @NotNull Consumer<? super Window> consumer) {
+        return new TimeWindowAggregator(window, window, lateness, consumer);
+    }
+
+    /**
+     * Creates a new aggregator with overlapping windows.
+     * @param window The length of the windows.
+     * @param slide The time between the starts of two windows.
+     * @param lateness The time values may arrive late.
+     * @param consumer The consumer to emit windows to.
+     * @return The new aggregator.
+     */
+    @Contract(value = "_, _, _, _ -> new", pure = true)
+    public static @NotNull TimeWindowAggregator sliding(@NotNull Duration window, @NotNull Duration slide, @NotNull Duration lateness, @NotNull Consumer<? super Window> consumer) {
+        return new TimeWindowAggregator(window, slide, lateness, consumer);
+    }
+
+    /**
+     * Returns the number of values that were too late for any open window.
+     * @return The number of dropped values.
+     */
+    @Contract(pure = true)
+    public long getDroppedCount() {
+        return dropped;
+    }
+
+    /**
+     * Adds a value.
+     * @param instant The time of the value.
+     * @param value The value.
+     */
+    public void add(@NotNull Instant instant, double value) {
+        add(instant.toEpochNano(), value);
+    }
+
+    /**
+     * Adds a value. The value is summed exactly, but converted to a {@code double} for the other aggregates.
+     * @param epochNanos The time of the value in [ns] since the epoch.
+     * @param value The value.
+     */
+    public void add(long epochNanos, long value) {
+        add(epochNanos, value, 0.0, value);
+    }
+
+    /**
+     * Adds a value.
+     * @param epochNanos The time of the value in [ns] since the epoch.
+     * @param value The value.
+     */
+    public void add(long epochNanos, double value) {
+        add(epochNanos, value, value, 0);
+    }
+
+    /**
+     * Adds a value, which is summed as the given {@code double} and {@code long} parts.
+     */
+    private void add(long epochNanos, double value, double doublePart, long longPart) {
+        final long lastWindow = PrivateUtils.floorDiv(epochNanos, slideNanos);
+        final long firstWindow = PrivateUtils.floorDiv(epochNanos - windowNanos, slideNanos) + 1;
+        boolean counted = false;
+
+        if (epochNanos > maxNanos) {
+            maxNanos = epochNanos;
+            if (nextToEmit == Long.MIN_VALUE)
+                nextToEmit = PrivateUtils.floorDiv(epochNanos - latenessNanos - windowNanos, slideNanos) + 1;
+            emitUpTo(PrivateUtils.floorDiv(epochNanos - latenessNanos - windowNanos, slideNanos));
+        }
+
+        for (long k = Math.max(firstWindow, nextToEmit); k <= lastWindow; k++) {
+            update(k, epochNanos, value, doublePart, longPart);
+            counted = true;
+        }
+
+        if (!counted)
+            dropped++;
+    }
+
+    private void update(long k, long epochNanos, double value, double doublePart, long longPart) {
+        final int slot = (int) PrivateUtils.floorMod(k, capacity);
+
+        if (index[slot] != k) {
+            index[slot] = k;
+            count[slot] = 1;
+            min[slot] = value;
+            max[slot] = value;
+            sum[slot] = doublePart;
+            sumHigh[slot] = longPart >> 63;
+            sumLow[slot] = longPart;
+            firstNanos[slot] = epochNanos;
+            first[slot] = value;
+            lastNanos[slot] = epochNanos;
+            last[slot] = value;
+            return;
+        }
+
+        count[slot]++;
+        min[slot] = Math.min(min[slot], value);
+        max[slot] = Math.max(max[slot], value);
+        sum[slot] += doublePart;
+        addToSum(slot, longPart);
+        if (epochNanos < firstNanos[slot]) {
+            firstNanos[slot] = epochNanos;
+            first[slot] = value;
+        }
+        if (epochNanos >= lastNanos[slot]) {
+            lastNanos[slot] = epochNanos;
+            last[slot] = value;
+        }
+    }
+
+    private void addToSum(int slot, long value) {
+        final long low = sumLow[slot] + value;
+
+        sumHigh[slot] += (value >> 63) + (PrivateUtils.unsignedLess(low, sumLow[slot]) ? 1 : 0);
+        sumLow[slot] = low;
+    }
+
+    private double sumOf(int slot) {
+        final long high = sumHigh[slot];
+        final long low = sumLow[slot];
+
+        if (high == low >> 63)
+            return sum[slot] + low;
+
+        //noinspection MagicNumber
+        return sum[slot] + (high * 0x1p64 + ((low >>> 1) * 2.0 + (low & 1)));
+    }
+
+    private void emitUpTo(long lastWindow) {
+        final long end = Math.min(lastWindow, nextToEmit + capacity - 1);
+
+        for (long k = nextToEmit; k <= end; k++) {
+            final int slot = (int) PrivateUtils.floorMod(k, capacity);
+
+            if (index[slot] == k) {
+                window.slot = slot;
+                window.startNanos = k * slideNanos;
+                consumer.accept(window);
+                index[slot] = Long.MIN_VALUE;
+            }
+        }
+
+        if (lastWindow >= nextToEmit)
+            nextToEmit = lastWindow + 1;
+    }
+
+    /**
+     * Emits all open windows, for example at the end of a stream.
+     * Values for these windows that are added later are dropped.
+     */
+    public void flush() {
+        if (maxNanos != Long.MIN_VALUE)
+            emitUpTo(PrivateUtils.floorDiv(maxNanos, slideNanos));
+    }
+
+    /**
+     * This class describes an emitted window. The object is reused and only valid while it is passed to the consumer.
+     */
+    public final class Window {
+        private int slot;
+        private long startNanos;
+
+        private Window() {
+        }
+
+        /**
+         * Returns the inclusive start of the window.
+         * @return The start in [ns] since the epoch.
+         */
+        @Contract(pure = true)
+        public long getStartNanos() {
+            return startNanos;
+        }
+
+        /**
+         * Returns the exclusive end of the window.
+         * @return The end in [ns] since the epoch.
+         */
+        @Contract(pure = true)
+        public long getEndNanos() {
+            return startNanos + windowNanos;
+        }
+
+        /**
+         * Returns the inclusive start of the window.
+         * @return The start.
+         */
+        @Contract(value = " -> new", pure = true)
+        public @NotNull Instant getStart() {
+            return Instant.ofEpochNano(getStartNanos());
+        }
+
+        /**
+         * Returns the exclusive end of the window.
+         * @return The end.
+         */
+        @Contract(value = " -> new", pure = true)
+        public @NotNull Instant getEnd() {
+            return Instant.ofEpochNano(getEndNanos());
+        }
+
+        /**
+         * Returns the number of values in the window.
+         * @return The number of values.
+         */
+        @Contract(pure = true)
+        public long getCount() {
+            return count[slot];
+        }
+
+        /**
+         * Returns the smallest value in the window.
+         * @return The minimum.
+         */
+        @Contract(pure = true)
+        public double getMin() {
+            return min[slot];
+        }
+
+        /**
+         * Returns the largest value in the window.
+         * @return The maximum.
+         */
+        @Contract(pure = true)
+        public double getMax() {
+            return max[slot];
+        }
+
+        /**
+         * Returns the sum of the values in the window.
+         * @return The sum.
+         */
+        @Contract(pure = true)
+        public double getSum() {
+            return sumOf(slot);
+        }
+
+        /**
+         * Returns the mean of the values in the window.
+         * @return The mean.
+         */
+        @Contract(pure = true)
+        public double getMean() {
+            return sumOf(slot) / count[slot];
+        }
+
+        /**
+         * Returns the value with the earliest timestamp in the window.
+         * @return The first value.
+         */
+        @Contract(pure = true)
+        public double getFirst() {
+            return first[slot];
+        }
+
+        /**
+         * Returns the value with the latest timestamp in the window.
+         * @return The last value.
+         */
+        @Contract(pure = true)
+        public double getLast() {
+            return last[slot];
+        }
+    }
+}
@@ -0,0 +1,382 @@
+/*
+ * Copyright (c) 2021 nacamar GmbH - Ybrid®, a Hybrid Dynamic Live Audio Technology
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package java.time;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.temporal.ChronoField;
+
+/**
+ * This class provides bulk arithmetic on arrays of timestamps.
+ * <P>
+ * Timestamps are passed either as parallel columns of seconds and nanoseconds as defined by
+ * {@link ChronoField#INSTANT_SECONDS} and {@link ChronoField#NANO_OF_SECOND}, or packed as [ns] since the epoch.
+ * The nanosecond column must be within 0 to 999,999,999. The same columns can also be used to hold durations.
+ * <P>
+ * No objects are created per element. Overflows throw an {@link ArithmeticException} as all other arithmetic in this package.
+ */
+public final class TimestampArrays {
+    private TimestampArrays() {
+    }
+
+    private static void checkColumns(long @NotNull [] seconds, int @NotNull [] nanos) {
+        if (seconds.length != nanos.length)
+            throw new IllegalArgumentException("Column length mismatch");
+    }
+
+    private static void checkOutput(int required, int secondsLength, int nanosLength) {
+        if (secondsLength < required || nanosLength < required)
+            throw new IllegalArgumentException("Output too small");
+    }
+
+    /**
+     * Packs seconds and nanoseconds into [ns] since the epoch.
+     * @param seconds The seconds column.
+     * @param nanos The nanoseconds column.
+     * @param epochNanos The output array. Must be at least as long as the input.
+     */
+    public static void toEpochNanos(long @NotNull [] seconds, int @NotNull [] nanos, long @NotNull [] epochNanos) {
+        final int length = seconds.length;
+
+        checkColumns(seconds, nanos);
+        checkOutput(length, epochNanos.length, epochNanos.length);
+
+        for (int i = 0; i < length; i++)
+            epochNanos[i] = PrivateUtils.toNanos(seconds[i], nanos[i]);
+    }
+
+    /**
+     * Unpacks [ns] since the epoch into seconds and nanoseconds.
+     * @param epochNanos The packed values.
+     * @param seconds The output seconds column. Must be at least as long as the input.
+     * @param nanos The output nanoseconds column. Must be at least as long as the input.
+     */
+    public static void fromEpochNanos(long @NotNull [] epochNanos, long @NotNull [] seconds, int @NotNull [] nanos) {
+        final int length = epochNanos.length;
+
+        checkOutput(length, seconds.length, nanos.length);
+
+        for (int i = 0; i < length; i++) {
+            final long s = PrivateUtils.floorDiv(epochNanos[i], PrivateUtils.NS_PER_S);
+            seconds[i] = s;
+            nanos[i] = (int) (epochNanos[i] - s * PrivateUtils.NS_PER_S);
+        }
+    }
+
+    /**
+     * Calculates the differences between neighbouring elements.
+     * <P>
+     * The element {@code i} of the output is the duration from the input element {@code i} to {@code i + 1}.
+     * The output may be the same arrays as the input.
+     *
+     * @param seconds The seconds column.
+     * @param nanos The nanoseconds column.
+     * @param diffSeconds The output seconds column. Must hold at least one element less than the input.
+     * @param diffNanos The output nanoseconds column. Must hold at least one element less than the input.
+     */
+    public static void differences(long @NotNull [] seconds, int @NotNull [] nanos, long @NotNull [] diffSeconds, int @NotNull [] diffNanos) {
+        final int length = seconds.length - 1;
+
+        checkColumns(seconds, nanos);
+        checkOutput(length, diffSeconds.length, diffNanos.length);
+
+        for (int i = 0; i < length; i++) {
+            long s = PrivateUtils.subtract(seconds[i + 1], seconds[i]);
+            int ns = nanos[i + 1] - nanos[i];
+
+            if (ns < 0) {
+                s = PrivateUtils.subtract(s, 1);
+                ns += (int) PrivateUtils.NS_PER_S;
+            }
+
+            diffSeconds[i] = s;
+            diffNanos[i] = ns;
+        }
+    }
+
+    /**
+     * Calculates the differences between neighbouring elements.
+     * <P>
+     * The element {@code i} of the output is the difference from the input element {@code i} to {@code i + 1}.
+     * The output may be the same array as the input.
+     *
+     * @param values The input values.
+     * @param differences The output array. Must hold at least one element less than the input.
+     */
+    public static void differences(long @NotNull [] values, long @NotNull [] differences) {
+        final int length = values.length - 1;
+
+        checkOutput(length, differences.length, differences.length);
+
+        for (int i = 0; i < length; i++)
+            differences[i] = PrivateUtils.subtract(values[i + 1], values[i]);
+    }
+
+    /**
+     * Calculates the running sums of the given durations.
+     * <P>
+     * The element {@code i} of the output is the sum of the input elements {@code 0} to {@code i}.
+     * The output may be the same arrays as the input.
+     *
+     * @param seconds The seconds column.
+     * @param nanos The nanoseconds column.
+     * @param sumSeconds The output seconds column. Must be at least as long as the input.
+     * @param sumNanos The output nanoseconds column. Must be at least as long as the input.
+     */
+    public static void prefixSums(long @NotNull [] seconds, int @NotNull [] nanos, long @NotNull [] sumSeconds, int @NotNull [] sumNanos) {
+        final int length = seconds.length;
+        long s = 0;
+        int ns = 0;
+
+        checkColumns(seconds, nanos);
+        checkOutput(length, sumSeconds.length, sumNanos.length);
+
+        for (int i = 0; i < length; i++) {
+            s = PrivateUtils.add(s, seconds[i]);
+            ns += nanos[i];
+
+            if (ns >= PrivateUtils.NS_PER_S) {
+                s = PrivateUtils.increment(s);
+                ns -= (int) PrivateUtils.NS_PER_S;
+            }
+
+            sumSeconds[i] = s;
+            sumNanos[i] = ns;
+        }
+    }
+
+    /**
+     * Calculates the running sums of the given values.
+     * <P>
+     * The element {@code i} of the output is the sum of the input elements {@code 0} to {@code i}.
+     * The output may be the same array as the input.
+     *
+     * @param values The input values.
+     * @param sums The output array. Must be at least as long as the input.
+     */
+    public static void prefixSums(long @NotNull [] values, long @NotNull [] sums) {
+        final int length = values.length;
+        long sum = 0;
+
+        checkOutput(length, sums.length, sums.length);
+
+        for (int i = 0; i < length; i++) {
+            sum = PrivateUtils.add(sum, values[i]);
+            sums[i] = sum;
+        }
+    }
+
+    /**
+     * Returns the index of the smallest element.
+     * @param seconds The seconds column.
+     * @param nanos The nanoseconds column.
+     * @return The index of the first smallest element or {@code -1} if the columns are empty.
+     */
+    @Contract(pure = true)
+    public static int indexOfMin(long @NotNull [] seconds, int @NotNull [] nanos) {
+        final int length = seconds.length;
+        int res = length == 0 ? -1 : 0;
+
+        checkColumns(seconds, nanos);
+
+        for (int i = 1; i < length; i++) {
+            if (seconds[i] < seconds[res] || (seconds[i] == seconds[res] && nanos[i] < nanos[res]))
+                res = i;
+        }
+
+        return res;
+    }
+
+    /**
+     * Returns the index of the largest element.
+     * @param seconds The seconds column.
+     * @param nanos The nanoseconds column.
+     * @return The index of the first largest element or {@code -1} if the columns are empty.
+     */
+    @Contract(pure = true)
+    public static int indexOfMax(long @NotNull [] seconds, int @NotNull [] nanos) {
+        final int length = seconds.length;
+        int res = length == 0 ? -1 : 0;
+
+        checkColumns(seconds, nanos);
+
+        for (int i = 1; i < length; i++) {
+            if (seconds[i] > seconds[res] || (seconds[i] == seconds[res] && nanos[i] > nanos[res]))
+                res = i;
+        }
+
+        return res;
+    }
+
+    /**
+     * Returns the index of the smallest element.
+     * @param values The values.
+     * @return The index of the first smallest element or {@code -1} if the array is empty.
+     */
+    @Contract(pure = true)
+    public static int indexOfMin(long @NotNull [] values) {
+        final int length = values.length;
+        int res = length == 0 ? -1 : 0;
+
+        for (int i = 1; i < length; i++) {
+            if (values[i] < values[res])
+                res = i;
+        }
+
+        return res;
+    }
+
+    /**
+     * Returns the index of the largest element.
+     * @param values The values.
+     * @return The index of the first largest element or {@code -1} if the array is empty.
+     */
+    @Contract(pure = true)
+    public static int indexOfMax(long @NotNull [] values) {
+        final int length = values.length;
+        int res = length == 0 ? -1 : 0;
+
+        for (int i = 1; i < length; i++) {
+            if (values[i] > values[res])
+                res = i;
+        }
+
+        return res;
+    }
+
+    /**
+     * Calculates the mean of the given durations.
+     * <P>
+     * The result is exact, rounded towards negative infinity to full nanoseconds. No intermediate sum can overflow.
+     *
+     * @param seconds The seconds column.
+     * @param nanos The nanoseconds column.
+     * @return The mean.
+     */
+    @Contract(value = "_, _ -> new", pure = true)
+    public static @NotNull Duration meanDuration(long @NotNull [] seconds, int @NotNull [] nanos) {
+        final int length = seconds.length;
+        long quotient = 0;
+        long remainder = 0;
+        long nanoSum = 0;
+
+        checkColumns(seconds, nanos);
+        if (length == 0)
+            throw new IllegalArgumentException("Empty array");
+
+        // Each remainder is below length, so their sum is below length^2 which fits a long for all array lengths.
+        // The same holds for the sum of the nanoseconds as each is below 10^9.
+        for (int i = 0; i < length; i++) {
+            quotient += seconds[i] / length;
+            remainder += seconds[i] % length;
+            nanoSum += nanos[i];
+        }
+
+        quotient += PrivateUtils.floorDiv(remainder, length);
+        remainder = PrivateUtils.floorMod(remainder, length);
+
+        return Duration.ofSeconds(quotient, (remainder * PrivateUtils.NS_PER_S + nanoSum) / length);
+    }
+
+    /**
+     * Calculates the mean of the given instants.
+     * <P>
+     * The result is exact, rounded towards negative infinity to full nanoseconds. No intermediate sum can overflow.
+     *
+     * @param seconds The seconds column.
+     * @param nanos The nanoseconds column.
+     * @return The mean.
+     */
+    @Contract(value = "_, _ -> new", pure = true)
+    public static @NotNull Instant meanInstant(long @NotNull [] seconds, int @NotNull [] nanos) {
+        final @NotNull Duration mean = meanDuration(seconds, nanos);
+        return Instant.ofEpochSecond(mean.getSeconds(), mean.getNano());
+    }
+
+    /**
+     * Calculates the mean of the given values.
+     * <P>
+     * The result is exact, rounded towards negative infinity. No intermediate sum can overflow.
+     *
+     * @param values The values.
+     * @return The mean.
+     */
+    @Contract(pure = true)
+    public static long mean(long @NotNull [] values) {
+        final int length = values.length;
+        long quotient = 0;
+        long remainder = 0;
+
+        if (length == 0)
+            throw new IllegalArgumentException("Empty array");
+
+        // Each remainder is below length, so their sum is below length^2 which fits a long for all array lengths.
+        for (int i = 0; i < length; i++) {
+            quotient += values[i] / length;
+            remainder += values[i] % length;
+        }
+
+        return quotient + PrivateUtils.floorDiv(remainder, length);
+    }
+
+    /**
+     * Shifts all elements by the given amount in place.
+     * @param seconds The seconds column.
+     * @param nanos The nanoseconds column.
+     * @param amount The amount to add.
+     */
+    public static void shift(long @NotNull [] seconds, int @NotNull [] nanos, @NotNull Duration amount) {
+        final int length = seconds.length;
+        final long amountSeconds = amount.getSeconds();
+        final int amountNanos = amount.getNano();
+
+        checkColumns(seconds, nanos);
+
+        for (int i = 0; i < length; i++) {
+            long s = PrivateUtils.add(seconds[i], amountSeconds);
+            int ns = nanos[i] + amountNanos;
+
+            if (ns >= PrivateUtils.NS_PER_S) {
+                s = PrivateUtils.increment(s);
+                ns -= (int) PrivateUtils.NS_PER_S;
+            }
+
+            seconds[i] = s;
+            nanos[i] = ns;
+        }
+    }
+
+    /**
+     * Shifts all elements by the given amount in place.
+     * @param epochNanos The packed values.
+     * @param amount The amount to add.
+     */
+    public static void shift(long @NotNull [] epochNanos, @NotNull Duration amount) {
+        final int length = epochNanos.length;
+        final long amountNanos = amount.toNanos();
+
+        for (int i = 0; i < length; i++)
+            epochNanos[i] = PrivateUtils.add(epochNanos[i], amountNanos);
+    }
+}
@@ -0,0 +1,350 @@
+/*
+ * Copyright (c) 2021 nacamar GmbH - Ybrid®, a Hybrid Dynamic Live Audio Technology
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package java.time;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class implements sorting of large arrays of timestamps.
+ * <P>
+ * Timestamps are passed in the same formats as used by {@link TimestampArrays}. Sorting is done using a stable
+ * least significant digit radix sort. Passes in which all elements share the same digit are skipped.
+ * <P>
+ * All methods optionally accept a permutation array. It is reordered the same way as the timestamps, so that
+ * payloads can be sorted alongside by initialising it with {@code 0} to {@code length - 1}.
+ */
+public final class TimestampSort {
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+    private static final int MASK = RADIX - 1;
+    // Nanoseconds are below 2^30, so four 8-bit digits cover them. Without nanoseconds these passes are not run.
+    private static final int NANOS_PASSES = 4;
+    private static final int KEY_PASSES = Long.SIZE / RADIX_BITS;
+    private static final int INSERTION_SORT_THRESHOLD = 64;
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+    private static final int MIN_CHUNK_LENGTH = 1 << 14;
+
+    private TimestampSort() {
+    }
+
+    private static final class CommonPool {
+        static final @NotNull ForkJoinPool POOL = new ForkJoinPool();
+    }
+
+    /**
+     * Sorts [ns] since the epoch in ascending order.
+     * @param epochNanos The values to sort.
+     */
+    public static void sort(long @NotNull [] epochNanos) {
+        sort(epochNanos, null);
+    }
+
+    /**
+     * Sorts [ns] since the epoch in ascending order.
+     * @param epochNanos The values to sort.
+     * @param permutation The permutation to reorder alongside or {@code null}.
+     */
+    public static void sort(long @NotNull [] epochNanos, int @Nullable [] permutation) {
+        sort(epochNanos, null, permutation, null);
+    }
+
+    /**
+     * Sorts timestamps in ascending order.
+     * @param seconds The seconds column as defined by {@link java.time.temporal.ChronoField#INSTANT_SECONDS}.
+     * @param nanos The nanoseconds column as defined by {@link java.time.temporal.ChronoField#NANO_OF_SECOND}.
+     * @param permutation The permutation to reorder alongside or {@code null}.
+     */
+    public static void sort(long @NotNull [] seconds, int @NotNull [] nanos, int @Nullable [] permutation) {
+        sort(seconds, nanos, permutation, null);
+    }
+
+    /**
+     * Sorts [ns] since the epoch in ascending order using multiple threads.
+     * @param epochNanos The values to sort.
+     * @param permutation The permutation to reorder alongside or {@code null}.
+     */
+    public static void parallelSort(long @NotNull [] epochNanos, int @Nullable [] permutation) {
+        sort(epochNanos, null, permutation, CommonPool.POOL);
+    }
+
+    /**
+     * Sorts timestamps in ascending order using multiple threads.
+     * @param seconds The seconds column as defined by {@link java.time.temporal.ChronoField#INSTANT_SECONDS}.
+     * @param nanos The nanoseconds column as defined by {@link java.time.temporal.ChronoField#NANO_OF_SECOND}.
+     * @param permutation The permutation to reorder alongside or {@code null}.
+     */
+    public static void parallelSort(long @NotNull [] seconds, int @NotNull [] nanos, int @Nullable [] permutation) {
+        sort(seconds, nanos, permutation, CommonPool.POOL);
+    }
+
+    /**
+     * Sorts timestamps in ascending order using the threads of the given pool.
+     * @param seconds The seconds column as defined by {@link java.time.temporal.ChronoField#INSTANT_SECONDS}.
+     * @param nanos The nanoseconds column as defined by {@link java.time.temporal.ChronoField#NANO_OF_SECOND},
+     *              or {@code null} if {@code seconds} holds [ns] since the epoch.
+     * @param permutation The permutation to reorder alongside or {@code null}.
+     * @param pool The pool to use.
+     */
+    public static void parallelSort(long @NotNull [] seconds, int @Nullable [] nanos, int @Nullable [] permutation, @NotNull ForkJoinPool pool) {
+        sort(seconds, nanos, permutation, pool);
+    }
+
+    private static void sort(long @NotNull [] keys, int @Nullable [] nanos, int @Nullable [] permutation, @Nullable ForkJoinPool pool) {
+        final int length = keys.length;
+        final int chunks;
+        final @NotNull Sorter sorter;
+
+        if (nanos != null && nanos.length != length)
+            throw new IllegalArgumentException("Column length mismatch");
+        if (permutation != null && permutation.length != length)
+            throw new IllegalArgumentException("Permutation length mismatch");
+
+        if (length < INSERTION_SORT_THRESHOLD) {
+            insertionSort(keys, nanos, permutation);
+            return;
+        }
+
+        if (pool == null || length < PARALLEL_THRESHOLD) {
+            chunks = 1;
+        } else {
+            chunks = Math.max(1, Math.min(pool.getParallelism(), length / MIN_CHUNK_LENGTH));
+        }
+
+        sorter = new Sorter(keys, nanos, permutation, chunks);
+
+        if (chunks == 1) {
+            sorter.run();
+        } else {
+            pool.invoke(sorter);
+        }
+    }
+
+    private static void insertionSort(long @NotNull [] keys, int @Nullable [] nanos, int @Nullable [] permutation) {
+        for (int i = 1; i < keys.length; i++) {
+            final long key = keys[i];
+            final int nano = nanos == null ? 0 : nanos[i];
+            final int index = permutation == null ? 0 : permutation[i];
+            int j = i - 1;
+
+            while (j >= 0 && (keys[j] > key || (keys[j] == key && nanos != null && nanos[j] > nano))) {
+                keys[j + 1] = keys[j];
+                if (nanos != null)
+                    nanos[j + 1] = nanos[j];
+                if (permutation != null)
+                    permutation[j + 1] = permutation[j];
+                j--;
+            }
+
+            keys[j + 1] = key;
+            if (nanos != null)
+                nanos[j + 1] = nano;
+            if (permutation != null)
+                permutation[j + 1] = index;
+        }
+    }
+
+    private static final class Sorter extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int length;
+        private final int chunks;
+        private final int @NotNull [] @NotNull [] counts;
+        private final long @NotNull [] originalKeys;
+        private final int @Nullable [] originalNanos;
+        private final int @Nullable [] originalPermutation;
+        private long @NotNull [] keys;
+        private int @Nullable [] nanos;
+        private int @Nullable [] permutation;
+        private long @NotNull [] keysBuffer;
+        private int @Nullable [] nanosBuffer;
+        private int @Nullable [] permutationBuffer;
+
+        Sorter(long @NotNull [] keys, int @Nullable [] nanos, int @Nullable [] permutation, int chunks) {
+            this.length = keys.length;
+            this.chunks = chunks;
+            this.counts = new int[chunks][RADIX];
+            this.originalKeys = this.keys = keys;
+            this.originalNanos = this.nanos = nanos;
+            this.originalPermutation = this.permutation = permutation;
+            this.keysBuffer = new long[length];
+            this.nanosBuffer = nanos == null ? null : new int[length];
+            this.permutationBuffer = permutation == null ? null : new int[length];
+        }
+
+        @Override
+        protected void compute() {
+            run();
+        }
+
+        void run() {
+            final int nanosPasses = nanos == null ? 0 : NANOS_PASSES;
+
+            for (int pass = 0; pass < nanosPasses + KEY_PASSES; pass++) {
+                final boolean nanosPass = pass < nanosPasses;
+                final int shift = (nanosPass ? pass : pass - nanosPasses) * RADIX_BITS;
+
+                runChunks(false, nanosPass, shift);
+
+                if (toOffsets())
+                    continue;
+
+                runChunks(true, nanosPass, shift);
+                swapBuffers();
+            }
+
+            if (keys != originalKeys) {
+                System.arraycopy(keys, 0, originalKeys, 0, length);
+                if (originalNanos != null)
+                    System.arraycopy(nanos, 0, originalNanos, 0, length);
+                if (originalPermutation != null)
+                    System.arraycopy(permutation, 0, originalPermutation, 0, length);
+            }
+        }
+
+        private void runChunks(boolean scatter, boolean nanosPass, int shift) {
+            final @NotNull Chunk[] tasks;
+
+            if (chunks == 1) {
+                runChunk(0, scatter, nanosPass, shift);
+                return;
+            }
+
+            tasks = new Chunk[chunks];
+            for (int chunk = 0; chunk < chunks; chunk++)
+                tasks[chunk] = new Chunk(this, chunk, scatter, nanosPass, shift);
+
+            ForkJoinTask.invokeAll(tasks);
+        }
+
+        private void runChunk(int chunk, boolean scatter, boolean nanosPass, int shift) {
+            final int start = (int) ((long) length * chunk / chunks);
+            final int end = (int) ((long) length * (chunk + 1) / chunks);
+            final int @NotNull [] count = counts[chunk];
+
+            if (!scatter) {
+                for (int d = 0; d < RADIX; d++)
+                    count[d] = 0;
+
+                if (nanosPass) {
+                    //noinspection ConstantConditions
+                    for (int i = start; i < end; i++)
+                        count[(nanos[i] >>> shift) & MASK]++;
+                } else {
+                    for (int i = start; i < end; i++)
+                        count[(int) (((keys[i] ^ Long.MIN_VALUE) >>> shift) & MASK)]++;
+                }
+                return;
+            }
+
+            for (int i = start; i < end; i++) {
+                final int d;
+                final int pos;
+
+                if (nanosPass) {
+                    //noinspection ConstantConditions
+                    d = (nanos[i] >>> shift) & MASK;
+                } else {
+                    d = (int) (((keys[i] ^ Long.MIN_VALUE) >>> shift) & MASK);
+                }
+
+                pos = count[d]++;
+                keysBuffer[pos] = keys[i];
+                if (nanos != null)
+                    //noinspection ConstantConditions
+                    nanosBuffer[pos] = nanos[i];
+                if (permutation != null)
+                    //noinspection ConstantConditions
+                    permutationBuffer[pos] = permutation[i];
+            }
+        }
+
+        /**
+         * Converts the per chunk counts into start offsets.
+         * @return Whether the pass is trivial and can be skipped.
+         */
+        private boolean toOffsets() {
+            int offset = 0;
+
+            for (int d = 0; d < RADIX; d++) {
+                int total = 0;
+
+                for (int chunk = 0; chunk < chunks; chunk++)
+                    total += counts[chunk][d];
+
+                if (total == length)
+                    return true;
+                if (total == 0)
+                    continue;
+
+                for (int chunk = 0; chunk < chunks; chunk++) {
+                    final int count = counts[chunk][d];
+                    counts[chunk][d] = offset;
+                    offset += count;
+                }
+            }
+
+            return false;
+        }
+
+        private void swapBuffers() {
+            final long @NotNull [] tmpKeys = keys;
+            final int @Nullable [] tmpNanos = nanos;
+            final int @Nullable [] tmpPermutation = permutation;
+
+            keys = keysBuffer;
+            nanos = nanosBuffer;
+            permutation = permutationBuffer;
+            keysBuffer = tmpKeys;
+            nanosBuffer = tmpNanos;
+            permutationBuffer = tmpPermutation;
+        }
+    }
+
+    private static final class Chunk extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final @NotNull Sorter sorter;
+        private final int chunk;
+        private final boolean scatter;
+        private final boolean nanosPass;
+        private final int shift;
+
+        Chunk(@NotNull Sorter sorter, int chunk, boolean scatter, boolean nanosPass, int shift) {
+            this.sorter = sorter;
+            this.chunk = chunk;
+            this.scatter = scatter;
+            this.nanosPass = nanosPass;
+            this.shift = shift;
+        }
+
+        @Override
+        protected void compute() {
+            sorter.runChunk(chunk, scatter, nanosPass, shift);
+        }
+    }
+}
@@ -22,6 +22,8 @@
 
 package java.util.function;
 
+import java.util.Objects;
+
 /**
  * This interface re-implements {@link java.util.function.BiConsumer} as it is not provided by all versions of Android.
  * @param <T> the type of the first argument to the operation
@@ -34,4 +36,17 @@ public interface BiConsumer<T, U> {
      * @param u The second object.
      */
     void accept(T t, U u);
+
+    /**
+     * Returns a consumer calling this and then the given consumer.
+     * @param after The consumer to call after this.
+     * @return The composed consumer.
+     */
+    default BiConsumer<T, U> andThen(BiConsumer<? super T, ? super U> after) {
+        Objects.requireNonNull(after);
+        return (l, r) -> {
+            accept(l, r);
+            after.accept(l, r);
+        };
+    }
 }
@@ -22,6 +22,8 @@
 
 package java.util.function;
 
+import java.util.Objects;
+
 /**
  * This interface re-implements {@link java.util.function.Consumer} as it is not provided by all versions of Android.
  * @param <T> The Object type to be supported.
@@ -32,4 +34,17 @@ public interface Consumer<T> {
      * @param t The object to consume.
      */
     void accept(T t);
+
+    /**
+     * Returns a consumer calling this and then the given consumer.
+     * @param after The consumer to call after this.
+     * @return The composed consumer.
+     */
+    default Consumer<T> andThen(Consumer<? super T> after) {
+        Objects.requireNonNull(after);
+        return (T t) -> {
+            accept(t);
+            after.accept(t);
+        };
+    }
 }
\ No newline at end of file
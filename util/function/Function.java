@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2021 nacamar GmbH - Ybrid®, a Hybrid Dynamic Live Audio Technology
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package java.util.function;
+
+import java.util.Objects;
+
+/**
+ * This interface re-implements {@link java.util.function.Function} as it is not provided by all versions of Android.
+ * @param <T> The type of the input.
+ * @param <R> The type of the result.
+ */
+public interface Function<T, R> {
+    /**
+     * Applies this function.
+     * @param t The input.
+     * @return The result.
+     */
+    R apply(T t);
+
+    /**
+     * Returns a function applying the given function and then this.
+     * @param before The function to apply before this.
+     * @param <V> The type of the input of the given function.
+     * @return The composed function.
+     */
+    default <V> Function<V, R> compose(Function<? super V, ? extends T> before) {
+        Objects.requireNonNull(before);
+        return (V v) -> apply(before.apply(v));
+    }
+
+    /**
+     * Returns a function applying this and then the given function.
+     * @param after The function to apply after this.
+     * @param <V> The type of the result of the given function.
+     * @return The composed function.
+     */
+    default <V> Function<T, V> andThen(Function<? super R, ? extends V> after) {
+        Objects.requireNonNull(after);
+        return (T t) -> after.apply(apply(t));
+    }
+
+    /**
+     * Returns a function returning its input.
+     * @param <T> The type of the input.
+     * @return The function.
+     */
+    static <T> Function<T, T> identity() {
+        return t -> t;
+    }
+}